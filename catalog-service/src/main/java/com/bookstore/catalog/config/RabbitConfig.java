@@ -1,6 +1,7 @@
 package com.bookstore.catalog.config;
 
 import com.bookstore.catalog.messaging.RabbitNames;
+import org.springframework.amqp.core.AnonymousQueue;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
 import org.springframework.amqp.core.Queue;
@@ -9,6 +10,7 @@ import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFacto
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -19,6 +21,25 @@ public class RabbitConfig {
         return new TopicExchange(RabbitNames.ORDER_EXCHANGE);
     }
 
+    @Bean
+    public TopicExchange bookExchange() {
+        return new TopicExchange(RabbitNames.BOOK_EXCHANGE);
+    }
+
+    // Every instance keeps its own book cache, so each one needs its own auto-deleted queue.
+    @Bean
+    public Queue bookCacheQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding bookCacheBinding(Queue bookCacheQueue, TopicExchange bookExchange) {
+        return BindingBuilder
+                .bind(bookCacheQueue)
+                .to(bookExchange)
+                .with(RabbitNames.BOOK_CACHE_EVICT_ROUTING_KEY);
+    }
+
     @Bean
     public Queue orderQueue() {
         return new Queue(RabbitNames.ORDER_QUEUE, true);
@@ -32,6 +53,19 @@ public class RabbitConfig {
                 .with(RabbitNames.ORDER_CREATED_ROUTING_KEY);
     }
 
+    @Bean
+    public Queue orderCancelledQueue() {
+        return new Queue(RabbitNames.ORDER_CANCELLED_QUEUE, true);
+    }
+
+    @Bean
+    public Binding orderCancelledBinding(Queue orderCancelledQueue, TopicExchange orderExchange) {
+        return BindingBuilder
+                .bind(orderCancelledQueue)
+                .to(orderExchange)
+                .with(RabbitNames.ORDER_CANCELLED_ROUTING_KEY);
+    }
+
     @Bean
     public MessageConverter jsonMessageConverter() {
         return new Jackson2JsonMessageConverter();
@@ -45,4 +79,27 @@ public class RabbitConfig {
         factory.setMessageConverter(jsonMessageConverter());
         return factory;
     }
+
+    /**
+     * Delivers order events as lists of up to {@code batch-size} messages (or whatever arrived within
+     * {@code receive-timeout}), so stock decrements for many orders share one transaction.
+     * Messages are acked only after the listener returns, i.e. after that transaction commits.
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory orderBatchListenerContainerFactory(
+            ConnectionFactory connectionFactory,
+            @Value("${catalog.stock.batch-size:100}") int batchSize,
+            @Value("${catalog.stock.receive-timeout:200}") long receiveTimeoutMillis,
+            @Value("${catalog.stock.consumers:2}") int consumers) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(connectionFactory);
+        factory.setMessageConverter(jsonMessageConverter());
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setPrefetchCount(batchSize);
+        factory.setReceiveTimeout(receiveTimeoutMillis);
+        factory.setConcurrentConsumers(consumers);
+        return factory;
+    }
 }
@@ -1,8 +1,16 @@
 package com.bookstore.catalog.controller;
 
+import com.bookstore.catalog.dto.BookFilter;
+import com.bookstore.catalog.dto.BookImportSummary;
+import com.bookstore.catalog.dto.BookPageResponse;
 import com.bookstore.catalog.dto.BookRequest;
 import com.bookstore.catalog.dto.BookResponse;
+import com.bookstore.catalog.dto.BookSearchResponse;
+import com.bookstore.catalog.dto.BookSort;
 import com.bookstore.catalog.exception.ApiError;
+import com.bookstore.catalog.exception.InvalidRequestException;
+import com.bookstore.catalog.service.BookFeedReader;
+import com.bookstore.catalog.service.BookImportService;
 import com.bookstore.catalog.service.BookService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -10,8 +18,12 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -19,9 +31,15 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.LinkedHashSet;
 import java.util.List;
 
 @RestController
@@ -30,7 +48,12 @@ import java.util.List;
 public class BookController {
 
     private final BookService bookService;
-    public BookController(BookService bookService) { this.bookService = bookService; }
+    private final BookImportService bookImportService;
+
+    public BookController(BookService bookService, BookImportService bookImportService) {
+        this.bookService = bookService;
+        this.bookImportService = bookImportService;
+    }
 
     @Operation(
             summary = "Create a new book",
@@ -53,18 +76,94 @@ public class BookController {
     }
 
     @Operation(
-            summary = "Get all books",
-            description = "Retrieves all books registered in the catalog.",
+            summary = "Bulk import books",
+            description = "Streams a CSV (text/csv, with an isbn,title,author,price,stock header) or NDJSON "
+                    + "(application/x-ndjson) feed and upserts each line by ISBN. The response is NDJSON: one line "
+                    + "per rejected feed line, written as the import progresses, then the totals.",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Import report",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                        schema = @Schema(implementation = BookImportSummary.class))),
+                @ApiResponse(responseCode = "400", description = "Unsupported content type or missing CSV header",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))),
+                @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ApiError.class)))
+            }
+    )
+    @PostMapping("/import")
+    public void importBooks(@RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+                            InputStream body, HttpServletResponse response) throws IOException {
+        BookFeedReader feed = bookImportService.open(body, contentType);
+        // Written on the request thread rather than as a StreamingResponseBody, so an import that runs
+        // for minutes is not cut off by the async request timeout.
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        bookImportService.importBooks(feed, response.getOutputStream());
+    }
+
+    @Operation(
+            summary = "List books",
+            description = "Lists books one page at a time, sorted by title, author, price or ID. "
+                    + "Pass the returned nextCursor to get the following page. Page size is capped at 100.",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Page retrieved",
+                    content = @Content(schema = @Schema(implementation = BookPageResponse.class))),
+                @ApiResponse(responseCode = "400", description = "Invalid sort, direction or cursor",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))),
+                @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ApiError.class)))
+            }
+    )
+    @GetMapping
+    public ResponseEntity<BookPageResponse> getPage(
+            @Parameter(description = "Cursor returned by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1-100)") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "id, title, author or price") @RequestParam(defaultValue = "id") String sort,
+            @Parameter(description = "asc or desc") @RequestParam(defaultValue = "asc") String direction,
+            @Parameter(description = "Exact author name") @RequestParam(required = false) String author,
+            @Parameter(description = "Minimum price, inclusive") @RequestParam(required = false) BigDecimal minPrice,
+            @Parameter(description = "Maximum price, inclusive") @RequestParam(required = false) BigDecimal maxPrice,
+            @Parameter(description = "Only books with stock") @RequestParam(defaultValue = "false") boolean inStock) {
+        return ResponseEntity.ok(bookService.getPage(new BookFilter(author, minPrice, maxPrice, inStock),
+                BookSort.from(sort), direction(direction), cursor, size));
+    }
+
+    @Operation(
+            summary = "Search books",
+            description = "Full-text search over title, author and ISBN. Every word must match, either fully or as "
+                    + "a prefix; results are ranked best match first. Page size is capped at 100.",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Search results retrieved",
+                    content = @Content(schema = @Schema(implementation = BookSearchResponse.class))),
+                @ApiResponse(responseCode = "400", description = "Empty query or negative page",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))),
+                @ApiResponse(responseCode = "401", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ApiError.class)))
+            }
+    )
+    @GetMapping("/search")
+    public ResponseEntity<BookSearchResponse> search(
+            @Parameter(description = "Words to search for") @RequestParam(required = false) String q,
+            @Parameter(description = "Zero-based page number") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size (1-100)") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(bookService.search(q, page, size));
+    }
+
+    @Operation(
+            summary = "Get books by IDs",
+            description = "Retrieves several books in a single call. Unknown IDs are omitted from the result.",
             responses = {
                 @ApiResponse(responseCode = "200", description = "Books retrieved",
                     content = @Content(schema = @Schema(implementation = BookResponse.class))),
+                @ApiResponse(responseCode = "400", description = "Too many IDs requested",
+                    content = @Content(schema = @Schema(implementation = ApiError.class))),
                 @ApiResponse(responseCode = "401", description = "Unauthorized",
                     content = @Content(schema = @Schema(implementation = ApiError.class)))
             }
     )
-    @GetMapping
-    public ResponseEntity<List<BookResponse>> getAll() {
-        return ResponseEntity.ok(bookService.getAll());
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<BookResponse>> getByIds(
+            @Parameter(description = "Comma-separated book IDs") @RequestParam List<Long> ids) {
+        return ResponseEntity.ok(bookService.getByIds(new LinkedHashSet<>(ids)));
     }
 
     @Operation(
@@ -120,4 +219,9 @@ public class BookController {
         bookService.delete(id);
         return ResponseEntity.noContent().build();
     }
+
+    private static Sort.Direction direction(String direction) {
+        return Sort.Direction.fromOptionalString(direction)
+                .orElseThrow(() -> new InvalidRequestException("Unsupported direction: " + direction));
+    }
 }
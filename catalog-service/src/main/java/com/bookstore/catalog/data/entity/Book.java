@@ -5,24 +5,34 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AccessLevel;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.FieldDefaults;
 
 import java.math.BigDecimal;
+import java.util.Locale;
 
 @Entity
-@Table(name = "books")
+// Each sort key of GET /books is paired with the id so keyset pages are index range scans. The author filter is an
+// equality, so author-prefixed copies keep filtered pages range scans too; (author, id) already covers sorting by id
+// or author. Price and stock filters are checked against the rows the sort index yields.
+@Table(name = "books", indexes = {
+        @Index(name = "idx_books_title_id", columnList = "title, id"),
+        @Index(name = "idx_books_author_id", columnList = "author, id"),
+        @Index(name = "idx_books_price_id", columnList = "price, id"),
+        @Index(name = "idx_books_author_title_id", columnList = "author, title, id"),
+        @Index(name = "idx_books_author_price_id", columnList = "author, price, id")
+}, uniqueConstraints = @UniqueConstraint(name = "uk_books_isbn_normalized", columnNames = "isbn_normalized"))
 @NoArgsConstructor
-@AllArgsConstructor
 @Getter
 @Setter
 @FieldDefaults(level = AccessLevel.PRIVATE)
@@ -35,6 +45,15 @@ public class Book {
     @Column(nullable = false, unique = true)
     String isbn;
 
+    /**
+     * Upper-cased copy of {@link #isbn}, kept in step by {@link #setIsbn}, so case-insensitive lookups are a
+     * plain equality on a unique index instead of {@code upper(isbn) = upper(?)} over every row.
+     * Nullable only so the column can be added to an existing table; see {@code IsbnBloomFilter#load}.
+     */
+    @Column(name = "isbn_normalized")
+    @Setter(AccessLevel.NONE)
+    String isbnNormalized;
+
     @NotBlank(message = "Title is required")
     @Column(nullable = false)
     String title;
@@ -51,4 +70,22 @@ public class Book {
     @Min(value = 0, message = "Stock must not be negative")
     @Column(nullable = false)
     Integer stock;
+
+    public Book(Long id, String isbn, String title, String author, BigDecimal price, Integer stock) {
+        this.id = id;
+        setIsbn(isbn);
+        this.title = title;
+        this.author = author;
+        this.price = price;
+        this.stock = stock;
+    }
+
+    public void setIsbn(String isbn) {
+        this.isbn = isbn;
+        this.isbnNormalized = normalizeIsbn(isbn);
+    }
+
+    public static String normalizeIsbn(String isbn) {
+        return isbn == null ? null : isbn.toUpperCase(Locale.ROOT);
+    }
 }
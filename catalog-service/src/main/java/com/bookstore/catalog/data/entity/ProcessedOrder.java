@@ -0,0 +1,34 @@
+package com.bookstore.catalog.data.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+/**
+ * Orders whose stock decrement has been applied, or that were cancelled before it was. Order events are
+ * delivered at least once, so a redelivered or late event must not take stock a second time.
+ */
+@Entity
+@Table(name = "stock_processed_orders")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ProcessedOrder {
+    @Id
+    @Column(name = "order_id")
+    Long orderId;
+
+    @Column(name = "processed_at", nullable = false)
+    LocalDateTime processedAt;
+}
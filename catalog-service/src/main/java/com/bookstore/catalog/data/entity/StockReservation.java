@@ -0,0 +1,50 @@
+package com.bookstore.catalog.data.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.io.Serializable;
+
+/**
+ * Copies of a book taken from stock for an order. Lines that could not be filled have no row,
+ * so cancelling the order puts back exactly what was taken.
+ */
+@Entity
+@Table(name = "stock_reservations")
+@IdClass(StockReservation.Key.class)
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class StockReservation {
+    @Id
+    @Column(name = "order_id")
+    Long orderId;
+
+    @Id
+    @Column(name = "book_id")
+    Long bookId;
+
+    @Column(nullable = false)
+    int quantity;
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Key implements Serializable {
+        Long orderId;
+        Long bookId;
+    }
+}
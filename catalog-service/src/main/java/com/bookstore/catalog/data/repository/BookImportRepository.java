@@ -0,0 +1,97 @@
+package com.bookstore.catalog.data.repository;
+
+import com.bookstore.catalog.data.entity.Book;
+import com.bookstore.catalog.dto.BookRequest;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plain JDBC writes for bulk imports: one set-based lookup and two JDBC batches per chunk, with no entities
+ * in the persistence context and no per-row IDENTITY round trip.
+ */
+@Repository
+public class BookImportRepository {
+    private static final String INSERT =
+            "INSERT INTO books (isbn, isbn_normalized, title, author, price, stock) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE =
+            "UPDATE books SET isbn = ?, isbn_normalized = ?, title = ?, author = ?, price = ?, stock = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public BookImportRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    public record ExistingBook(Long id, BigDecimal price) {}
+
+    public record BookUpdate(Long id, BookRequest book) {}
+
+    public Map<String, ExistingBook> findByNormalizedIsbns(Collection<String> normalizedIsbns) {
+        Map<String, ExistingBook> books = new HashMap<>();
+        namedJdbcTemplate.query("SELECT id, isbn_normalized, price FROM books WHERE isbn_normalized IN (:isbns)",
+                new MapSqlParameterSource("isbns", normalizedIsbns),
+                rs -> {
+                    books.put(rs.getString("isbn_normalized"),
+                            new ExistingBook(rs.getLong("id"), rs.getBigDecimal("price")));
+                });
+        return books;
+    }
+
+    /**
+     * Inserts the books as one JDBC batch and returns their generated ids, in the same order.
+     */
+    public List<Long> insert(List<BookRequest> books) {
+        if (books.isEmpty()) {
+            return List.of();
+        }
+        GeneratedKeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        setColumns(ps, books.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return books.size();
+                    }
+                }, keys);
+        return keys.getKeyList().stream()
+                .map(key -> ((Number) key.values().iterator().next()).longValue())
+                .toList();
+    }
+
+    public void update(List<BookUpdate> updates) {
+        if (updates.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPDATE, updates, updates.size(), (ps, update) -> {
+            setColumns(ps, update.book());
+            ps.setLong(7, update.id());
+        });
+    }
+
+    private static void setColumns(PreparedStatement ps, BookRequest book) throws SQLException {
+        ps.setString(1, book.isbn());
+        ps.setString(2, Book.normalizeIsbn(book.isbn()));
+        ps.setString(3, book.title());
+        ps.setString(4, book.author());
+        ps.setBigDecimal(5, book.price());
+        ps.setInt(6, book.stock());
+    }
+}
@@ -1,10 +1,44 @@
 package com.bookstore.catalog.data.repository;
 
 import com.bookstore.catalog.data.entity.Book;
+import com.bookstore.catalog.dto.BookResponse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface BookRepository extends JpaRepository<Book, Long> {
-    Optional<Book> findByIsbnIgnoreCase(String isbn);
+public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book> {
+    boolean existsByIsbnNormalized(String isbnNormalized);
+
+    Optional<Book> findByIsbnNormalized(String isbnNormalized);
+
+    List<Book> findByIdIn(Collection<Long> ids);
+
+    /**
+     * Reads the whole catalog as DTOs, which stay out of the persistence context, fetching rows in batches
+     * instead of buffering the result. Must be consumed inside a transaction and closed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.bookstore.catalog.dto.BookResponse(b.id, b.isbn, b.title, b.author, b.price, b.stock) "
+            + "from Book b")
+    Stream<BookResponse> streamAllForSearch();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select b.isbnNormalized from Book b")
+    Stream<String> streamNormalizedIsbns();
+
+    /**
+     * Fills {@code isbn_normalized} for rows written before the column existed.
+     */
+    @Modifying
+    @Query("update Book b set b.isbnNormalized = upper(b.isbn) where b.isbnNormalized is null")
+    int normalizeMissingIsbns();
 }
@@ -0,0 +1,98 @@
+package com.bookstore.catalog.data.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Plain JDBC access for stock changes. Each decrement is a single conditional UPDATE, so the row lock is held
+ * only for that statement and stock can never go negative, without loading the book into the persistence context.
+ */
+@Repository
+public class BookStockRepository {
+    private static final String DECREMENT = "UPDATE books SET stock = stock - ? WHERE id = ? AND stock >= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public BookStockRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    public record StockDecrement(Long bookId, int quantity) {}
+
+    public record Reservation(Long orderId, Long bookId, int quantity) {}
+
+    /**
+     * Sends all decrements as one JDBC batch. Returns the affected row count per decrement;
+     * 0 means the book is missing or has too little stock.
+     */
+    public int[] decrement(List<StockDecrement> decrements) {
+        return jdbcTemplate.batchUpdate(DECREMENT, decrements, decrements.size(), (ps, decrement) -> {
+            ps.setInt(1, decrement.quantity());
+            ps.setLong(2, decrement.bookId());
+            ps.setInt(3, decrement.quantity());
+        })[0];
+    }
+
+    public boolean decrement(StockDecrement decrement) {
+        return jdbcTemplate.update(DECREMENT, decrement.quantity(), decrement.bookId(), decrement.quantity()) == 1;
+    }
+
+    public void restock(List<Reservation> reservations) {
+        jdbcTemplate.batchUpdate("UPDATE books SET stock = stock + ? WHERE id = ?",
+                reservations, reservations.size(), (ps, reservation) -> {
+                    ps.setInt(1, reservation.quantity());
+                    ps.setLong(2, reservation.bookId());
+                });
+    }
+
+    public void reserve(List<Reservation> reservations) {
+        jdbcTemplate.batchUpdate("INSERT INTO stock_reservations (order_id, book_id, quantity) VALUES (?, ?, ?)",
+                reservations, reservations.size(), (ps, reservation) -> {
+                    ps.setLong(1, reservation.orderId());
+                    ps.setLong(2, reservation.bookId());
+                    ps.setInt(3, reservation.quantity());
+                });
+    }
+
+    /**
+     * Removes and returns the reservations of an order. The rows are locked first, so a redelivered
+     * cancellation running concurrently finds nothing left to release.
+     */
+    public List<Reservation> releaseReservations(Long orderId) {
+        List<Reservation> reservations = jdbcTemplate.query(
+                "SELECT order_id, book_id, quantity FROM stock_reservations WHERE order_id = ? ORDER BY book_id FOR UPDATE",
+                (rs, rowNum) -> new Reservation(rs.getLong("order_id"), rs.getLong("book_id"), rs.getInt("quantity")),
+                orderId);
+        if (!reservations.isEmpty()) {
+            jdbcTemplate.update("DELETE FROM stock_reservations WHERE order_id = ?", orderId);
+        }
+        return reservations;
+    }
+
+    public Set<Long> findProcessedOrders(Collection<Long> orderIds) {
+        List<Long> processed = namedJdbcTemplate.queryForList(
+                "SELECT order_id FROM stock_processed_orders WHERE order_id IN (:ids)",
+                new MapSqlParameterSource("ids", orderIds), Long.class);
+        return new HashSet<>(processed);
+    }
+
+    public void markProcessed(Collection<Long> orderIds, LocalDateTime processedAt) {
+        Timestamp timestamp = Timestamp.valueOf(processedAt);
+        jdbcTemplate.batchUpdate("INSERT INTO stock_processed_orders (order_id, processed_at) VALUES (?, ?)",
+                List.copyOf(orderIds), orderIds.size(), (ps, orderId) -> {
+                    ps.setLong(1, orderId);
+                    ps.setTimestamp(2, timestamp);
+                });
+    }
+}
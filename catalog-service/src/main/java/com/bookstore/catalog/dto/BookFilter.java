@@ -0,0 +1,9 @@
+package com.bookstore.catalog.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Optional filters of {@code GET /books}; {@code null} means not filtered.
+ */
+public record BookFilter(String author, BigDecimal minPrice, BigDecimal maxPrice, boolean inStock) {
+}
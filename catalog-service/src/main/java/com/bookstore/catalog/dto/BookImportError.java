@@ -0,0 +1,14 @@
+package com.bookstore.catalog.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "A feed line that was not imported")
+public record BookImportError(
+        @Schema(description = "Line number in the feed, starting at 1", example = "42")
+        long line,
+        @Schema(description = "ISBN of the line, if it could be read", example = "978-85-333-0227-3")
+        String isbn,
+        @Schema(description = "Why the line was rejected", example = "price: Price must be greater than zero")
+        String error
+) {
+}
@@ -0,0 +1,14 @@
+package com.bookstore.catalog.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Totals of a bulk import, sent as the last line of the report")
+public record BookImportSummary(
+        @Schema(description = "New books created", example = "950")
+        long inserted,
+        @Schema(description = "Existing books overwritten, matched by ISBN", example = "45")
+        long updated,
+        @Schema(description = "Lines rejected", example = "5")
+        long failed
+) {
+}
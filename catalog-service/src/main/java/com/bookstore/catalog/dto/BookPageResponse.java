@@ -0,0 +1,15 @@
+package com.bookstore.catalog.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "A page of books in the requested order")
+public record BookPageResponse(
+        @Schema(description = "Books in this page")
+        List<BookResponse> content,
+        @Schema(description = "Opaque cursor for the next page, null on the last page",
+                example = "dGl0bGV8Q2xlYW4gQ29kZXwxMg")
+        String nextCursor
+) {
+}
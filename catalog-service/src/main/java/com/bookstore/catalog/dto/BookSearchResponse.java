@@ -0,0 +1,18 @@
+package com.bookstore.catalog.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "A page of books matching a search, best match first")
+public record BookSearchResponse(
+        @Schema(description = "Matching books in this page")
+        List<BookResponse> content,
+        @Schema(description = "Zero-based page number", example = "0")
+        int page,
+        @Schema(description = "Page size", example = "20")
+        int size,
+        @Schema(description = "Number of matching books across all pages", example = "42")
+        int totalHits
+) {
+}
@@ -0,0 +1,39 @@
+package com.bookstore.catalog.dto;
+
+import com.bookstore.catalog.exception.InvalidRequestException;
+
+import java.util.Locale;
+
+/**
+ * Sort keys of {@code GET /books}. Every key is paired with the id as a tie-breaker.
+ */
+public enum BookSort {
+    ID("id"),
+    TITLE("title"),
+    AUTHOR("author"),
+    PRICE("price");
+
+    private final String property;
+
+    BookSort(String property) {
+        this.property = property;
+    }
+
+    public String property() {
+        return property;
+    }
+
+    public static BookSort from(String value) {
+        for (BookSort sort : values()) {
+            if (sort.property.equalsIgnoreCase(value)) {
+                return sort;
+            }
+        }
+        throw new InvalidRequestException("Unsupported sort '" + value + "', expected one of id, title, author, price");
+    }
+
+    @Override
+    public String toString() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,11 @@
+package com.bookstore.catalog.exception;
+
+/**
+ * A request the client got wrong in a way bean validation cannot express, such as an unknown sort or a
+ * malformed cursor. Mapped to 400 Bad Request.
+ */
+public class InvalidRequestException extends RuntimeException {
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
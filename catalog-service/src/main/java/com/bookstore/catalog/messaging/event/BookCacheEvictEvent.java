@@ -0,0 +1,21 @@
+package com.bookstore.catalog.messaging.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Tells every catalog-service instance to drop its cached copies of these books and re-index them for search.
+ * Also sent for new books, which have nothing cached but must become searchable everywhere.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookCacheEvictEvent implements Serializable {
+    private List<Long> bookIds;
+}
@@ -0,0 +1,19 @@
+package com.bookstore.catalog.messaging.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookUpdatedEvent implements Serializable {
+    private Long bookId;
+    private String isbn;
+    private BigDecimal price;
+}
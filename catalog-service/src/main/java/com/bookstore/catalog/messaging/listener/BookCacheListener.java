@@ -0,0 +1,24 @@
+package com.bookstore.catalog.messaging.listener;
+
+import com.bookstore.catalog.messaging.event.BookCacheEvictEvent;
+import com.bookstore.catalog.service.BookCache;
+import com.bookstore.catalog.service.BookSearchIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookCacheListener {
+    private final BookCache bookCache;
+    private final BookSearchIndex bookSearchIndex;
+
+    @RabbitListener(queues = "#{bookCacheQueue.name}")
+    public void handleBookCacheEvictEvent(BookCacheEvictEvent event) {
+        log.debug("BookCacheEvictEvent received in Catalog Service: {}", event);
+        bookCache.evict(event.getBookIds());
+        bookSearchIndex.refresh(event.getBookIds());
+    }
+}
@@ -7,6 +7,7 @@ import lombok.NoArgsConstructor;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
+import java.util.List;
 
 @Data
 @Builder
@@ -16,4 +17,13 @@ public class OrderCreatedEvent implements Serializable {
     private Long orderId;
     private Long userId;
     private BigDecimal totalAmount;
+    private List<Item> items;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item implements Serializable {
+        private Long bookId;
+        private Integer quantity;
+    }
 }
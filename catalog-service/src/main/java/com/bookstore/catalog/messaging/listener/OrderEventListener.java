@@ -1,17 +1,29 @@
 package com.bookstore.catalog.messaging.listener;
 
 import com.bookstore.catalog.messaging.RabbitNames;
+import com.bookstore.catalog.service.StockService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class OrderEventListener {
-    @RabbitListener(queues = RabbitNames.ORDER_QUEUE)
-    public void handleOrderCreatedEvent(OrderCreatedEvent event) {
-        log.info("OrderCreatedEvent received in Catalog Service: {}", event);
+    private final StockService stockService;
+
+    @RabbitListener(queues = RabbitNames.ORDER_QUEUE, containerFactory = "orderBatchListenerContainerFactory")
+    public void handleOrderCreatedEvents(List<OrderCreatedEvent> events) {
+        log.info("{} OrderCreatedEvents received in Catalog Service", events.size());
+        stockService.applyOrders(events);
+    }
+
+    @RabbitListener(queues = RabbitNames.ORDER_CANCELLED_QUEUE)
+    public void handleOrderCancelledEvent(OrderCancelledEvent event) {
+        log.info("OrderCancelledEvent received in Catalog Service: {}", event.getOrderId());
+        stockService.releaseOrder(event.getOrderId());
     }
-}
\ No newline at end of file
+}
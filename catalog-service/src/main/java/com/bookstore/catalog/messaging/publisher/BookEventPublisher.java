@@ -0,0 +1,53 @@
+package com.bookstore.catalog.messaging.publisher;
+
+import com.bookstore.catalog.messaging.RabbitNames;
+import com.bookstore.catalog.messaging.event.BookCacheEvictEvent;
+import com.bookstore.catalog.messaging.event.BookDeletedEvent;
+import com.bookstore.catalog.messaging.event.BookUpdatedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookEventPublisher {
+    private final RabbitTemplate rabbitTemplate;
+
+    public void publishBookUpdated(BookUpdatedEvent event) {
+        sendAfterCommit(RabbitNames.BOOK_UPDATED_ROUTING_KEY, event);
+    }
+
+    public void publishBookDeleted(BookDeletedEvent event) {
+        sendAfterCommit(RabbitNames.BOOK_DELETED_ROUTING_KEY, event);
+    }
+
+    public void publishBookCacheEvict(BookCacheEvictEvent event) {
+        sendAfterCommit(RabbitNames.BOOK_CACHE_EVICT_ROUTING_KEY, event);
+    }
+
+    /**
+     * Consumers evict cached copies of the book on receipt, so the event must not
+     * overtake the commit; otherwise they could reload the old row and cache it again.
+     */
+    private void sendAfterCommit(String routingKey, Object event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send(routingKey, event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                send(routingKey, event);
+            }
+        });
+    }
+
+    private void send(String routingKey, Object event) {
+        rabbitTemplate.convertAndSend(RabbitNames.BOOK_EXCHANGE, routingKey, event);
+        log.debug("{} published: {}", event.getClass().getSimpleName(), event);
+    }
+}
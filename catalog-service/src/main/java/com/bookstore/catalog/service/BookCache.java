@@ -0,0 +1,77 @@
+package com.bookstore.catalog.service;
+
+import com.bookstore.catalog.dto.BookResponse;
+import com.bookstore.catalog.messaging.event.BookCacheEvictEvent;
+import com.bookstore.catalog.messaging.publisher.BookEventPublisher;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-backed cache of {@link BookResponse} by id in front of {@code GET /books/{id}}.
+ * Concurrent misses for the same id share a single load. Writes evict locally after commit and broadcast
+ * a {@link BookCacheEvictEvent} so the other instances evict too; the TTL only bounds staleness if that
+ * broadcast is lost.
+ */
+@Component
+public class BookCache {
+    static final String CACHE_NAME = "catalog.books.by-id";
+
+    private final Cache<Long, BookResponse> cache;
+    private final BookEventPublisher bookEventPublisher;
+
+    public BookCache(BookEventPublisher bookEventPublisher, MeterRegistry meterRegistry,
+                     @Value("${catalog.book-cache.max-size:10000}") long maxSize,
+                     @Value("${catalog.book-cache.ttl:5m}") Duration ttl) {
+        this.bookEventPublisher = bookEventPublisher;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Exceptions from {@code loader}, such as a missing book, are rethrown and nothing is cached.
+     */
+    public BookResponse get(Long id, Function<Long, BookResponse> loader) {
+        return cache.get(id, loader);
+    }
+
+    /**
+     * Evicting before the commit would let a concurrent read cache the old row again. An eviction that
+     * races with a load of the same id waits for that load and then removes its result.
+     */
+    public void evictAfterCommit(Collection<Long> ids) {
+        List<Long> bookIds = List.copyOf(ids);
+        if (bookIds.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(bookIds);
+        } else {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(bookIds);
+                }
+            });
+        }
+        bookEventPublisher.publishBookCacheEvict(new BookCacheEvictEvent(bookIds));
+    }
+
+    public void evict(Collection<Long> ids) {
+        cache.invalidateAll(ids);
+    }
+}
@@ -0,0 +1,58 @@
+package com.bookstore.catalog.service;
+
+import com.bookstore.catalog.data.entity.Book;
+import com.bookstore.catalog.dto.BookSort;
+import com.bookstore.catalog.exception.InvalidRequestException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position of the last book of a page, exchanged with clients as an opaque token. The sort key is
+ * part of the token, so a cursor cannot be replayed against a different ordering.
+ */
+record BookCursor(BookSort sort, String value, Long id) {
+    private static final String SEPARATOR = "|";
+
+    static BookCursor after(Book book, BookSort sort) {
+        String value = switch (sort) {
+            case ID -> "";
+            case TITLE -> book.getTitle();
+            case AUTHOR -> book.getAuthor();
+            case PRICE -> book.getPrice().toPlainString();
+        };
+        return new BookCursor(sort, value, book.getId());
+    }
+
+    BigDecimal price() {
+        return new BigDecimal(value);
+    }
+
+    String encode() {
+        String raw = sort + SEPARATOR + value + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws InvalidRequestException if the token is malformed or was issued for another sort
+     */
+    static BookCursor decode(String token, BookSort expectedSort) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int first = raw.indexOf(SEPARATOR);
+            int last = raw.lastIndexOf(SEPARATOR);
+            if (first == last || !raw.substring(0, first).equals(expectedSort.toString())) {
+                throw new IllegalArgumentException();
+            }
+            BookCursor cursor = new BookCursor(expectedSort, raw.substring(first + 1, last),
+                    Long.parseLong(raw.substring(last + 1)));
+            if (expectedSort == BookSort.PRICE) {
+                cursor.price();
+            }
+            return cursor;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+    }
+}
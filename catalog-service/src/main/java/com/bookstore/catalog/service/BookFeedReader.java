@@ -0,0 +1,173 @@
+package com.bookstore.catalog.service;
+
+import com.bookstore.catalog.dto.BookRequest;
+import com.bookstore.catalog.exception.InvalidRequestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads a supplier feed one line at a time, so only the current line is held in memory.
+ * <p>
+ * CSV starts with a header naming the {@code isbn}, {@code title}, {@code author}, {@code price} and
+ * {@code stock} columns in any order; quoted fields may contain commas and doubled quotes, but every record must
+ * fit on one line. NDJSON is one {@link BookRequest} object per line. Blank lines are skipped.
+ */
+public class BookFeedReader implements Closeable {
+    private static final List<String> CSV_COLUMNS = List.of("isbn", "title", "author", "price", "stock");
+
+    public enum Format {CSV, NDJSON}
+
+    /**
+     * A parsed line; {@code book} is null when the line could not be read, and {@code error} says why.
+     */
+    public record Line(long number, BookRequest book, String error) {
+    }
+
+    private final BufferedReader reader;
+    private final Format format;
+    private final ObjectReader jsonReader;
+    private final Map<String, Integer> csvColumns = new HashMap<>();
+    private int csvFieldCount;
+    private long lineNumber;
+
+    /**
+     * Reads the CSV header straight away, so a feed without one is rejected before anything is imported.
+     */
+    BookFeedReader(BufferedReader reader, Format format, ObjectReader jsonReader) throws IOException {
+        this.reader = reader;
+        this.format = format;
+        this.jsonReader = jsonReader;
+        if (format == Format.CSV) {
+            readCsvHeader();
+        }
+    }
+
+    /**
+     * Returns the next non-blank line, or null at the end of the feed.
+     */
+    public Line next() throws IOException {
+        String text = nextNonBlank();
+        if (text == null) {
+            return null;
+        }
+        try {
+            return new Line(lineNumber, format == Format.CSV ? parseCsv(text) : parseJson(text), null);
+        } catch (JsonProcessingException e) {
+            return new Line(lineNumber, null, "Malformed JSON: " + e.getOriginalMessage());
+        } catch (InvalidRequestException e) {
+            return new Line(lineNumber, null, e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private BookRequest parseJson(String text) throws IOException {
+        BookRequest book = jsonReader.readValue(text);
+        if (book == null) {
+            // A literal "null" line binds to no object at all.
+            throw new InvalidRequestException("Expected a JSON object");
+        }
+        return book;
+    }
+
+    private void readCsvHeader() throws IOException {
+        String header = nextNonBlank();
+        if (header == null) {
+            throw new InvalidRequestException("CSV feed is empty");
+        }
+        List<String> names = splitCsv(header.replace("\uFEFF", ""));
+        for (int i = 0; i < names.size(); i++) {
+            csvColumns.put(names.get(i).toLowerCase(Locale.ROOT), i);
+        }
+        if (!csvColumns.keySet().containsAll(CSV_COLUMNS)) {
+            throw new InvalidRequestException("CSV header must name the columns " + String.join(", ", CSV_COLUMNS));
+        }
+        csvFieldCount = names.size();
+    }
+
+    private BookRequest parseCsv(String text) {
+        List<String> fields = splitCsv(text);
+        if (fields.size() != csvFieldCount) {
+            throw new InvalidRequestException("Expected " + csvFieldCount + " fields but found " + fields.size());
+        }
+        return new BookRequest(field(fields, "isbn"), field(fields, "title"), field(fields, "author"),
+                decimal(field(fields, "price")), integer(field(fields, "stock")));
+    }
+
+    private String field(List<String> fields, String column) {
+        String value = fields.get(csvColumns.get(column));
+        return value.isEmpty() ? null : value;
+    }
+
+    private static BigDecimal decimal(String value) {
+        try {
+            return value == null ? null : new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException("price: not a number");
+        }
+    }
+
+    private static Integer integer(String value) {
+        try {
+            return value == null ? null : Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException("stock: not a whole number");
+        }
+    }
+
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().strip());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new InvalidRequestException("Unterminated quoted field");
+        }
+        fields.add(field.toString().strip());
+        return fields;
+    }
+
+    private String nextNonBlank() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (text.isBlank());
+        return text;
+    }
+}
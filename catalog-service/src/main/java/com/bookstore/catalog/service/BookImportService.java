@@ -0,0 +1,246 @@
+package com.bookstore.catalog.service;
+
+import com.bookstore.catalog.data.entity.Book;
+import com.bookstore.catalog.data.repository.BookImportRepository;
+import com.bookstore.catalog.data.repository.BookImportRepository.BookUpdate;
+import com.bookstore.catalog.data.repository.BookImportRepository.ExistingBook;
+import com.bookstore.catalog.dto.BookImportError;
+import com.bookstore.catalog.dto.BookImportSummary;
+import com.bookstore.catalog.dto.BookRequest;
+import com.bookstore.catalog.dto.BookResponse;
+import com.bookstore.catalog.exception.InvalidRequestException;
+import com.bookstore.catalog.messaging.event.BookUpdatedEvent;
+import com.bookstore.catalog.messaging.publisher.BookEventPublisher;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Imports supplier feeds in fixed-size chunks, upserting by ISBN. Each chunk is one transaction with one
+ * set-based ISBN lookup and at most two JDBC batches, and its rejected lines are written to the report
+ * before the next chunk is read, so memory use does not grow with the size of the feed.
+ */
+@Slf4j
+@Service
+public class BookImportService {
+    private static final MediaType TEXT_CSV = MediaType.valueOf("text/csv");
+    private static final byte NEWLINE = '\n';
+
+    private final BookImportRepository bookImportRepository;
+    private final BookEventPublisher bookEventPublisher;
+    private final BookCache bookCache;
+    private final BookSearchIndex bookSearchIndex;
+    private final IsbnBloomFilter isbnBloomFilter;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader requestReader;
+    private final ObjectWriter objectWriter;
+    private final int chunkSize;
+
+    public BookImportService(BookImportRepository bookImportRepository, BookEventPublisher bookEventPublisher,
+                             BookCache bookCache, BookSearchIndex bookSearchIndex, IsbnBloomFilter isbnBloomFilter,
+                             Validator validator, PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper, @Value("${catalog.import.chunk-size:1000}") int chunkSize) {
+        this.bookImportRepository = bookImportRepository;
+        this.bookEventPublisher = bookEventPublisher;
+        this.bookCache = bookCache;
+        this.bookSearchIndex = bookSearchIndex;
+        this.isbnBloomFilter = isbnBloomFilter;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.requestReader = objectMapper.readerFor(BookRequest.class);
+        this.objectWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        this.chunkSize = chunkSize;
+    }
+
+    private record ChunkResult(int inserted, int updated, int failed) {
+    }
+
+    /**
+     * Picks the parser from the request's content type ({@code text/csv} or {@code application/x-ndjson}).
+     */
+    public BookFeedReader open(InputStream body, String contentType) throws IOException {
+        MediaType type = contentType == null ? null : parseMediaType(contentType);
+        BookFeedReader.Format format;
+        if (type != null && TEXT_CSV.includes(type)) {
+            format = BookFeedReader.Format.CSV;
+        } else if (type != null && MediaType.APPLICATION_NDJSON.includes(type)) {
+            format = BookFeedReader.Format.NDJSON;
+        } else {
+            throw new InvalidRequestException("Import feeds must be text/csv or application/x-ndjson");
+        }
+        return new BookFeedReader(new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8)),
+                format, requestReader);
+    }
+
+    private static MediaType parseMediaType(String contentType) {
+        try {
+            return MediaType.parseMediaType(contentType);
+        } catch (InvalidMediaTypeException e) {
+            throw new InvalidRequestException("Invalid content type: " + contentType);
+        }
+    }
+
+    /**
+     * Writes one JSON line per rejected feed line as it goes, then a {@link BookImportSummary} line.
+     * Chunks committed before a failure stay imported.
+     */
+    public BookImportSummary importBooks(BookFeedReader feed, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        long inserted = 0;
+        long updated = 0;
+        long failed = 0;
+        try (feed) {
+            List<BookFeedReader.Line> chunk = new ArrayList<>(chunkSize);
+            BookFeedReader.Line line;
+            do {
+                line = feed.next();
+                if (line != null) {
+                    chunk.add(line);
+                }
+                if (chunk.size() == chunkSize || (line == null && !chunk.isEmpty())) {
+                    ChunkResult result = importChunk(chunk, out);
+                    inserted += result.inserted();
+                    updated += result.updated();
+                    failed += result.failed();
+                    chunk.clear();
+                }
+            } while (line != null);
+        }
+        BookImportSummary summary = new BookImportSummary(inserted, updated, failed);
+        writeLine(out, summary);
+        out.flush();
+        log.info("Book import finished: {} inserted, {} updated, {} failed in {} ms", inserted, updated, failed,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return summary;
+    }
+
+    private ChunkResult importChunk(List<BookFeedReader.Line> lines, OutputStream out) throws IOException {
+        List<BookImportError> errors = new ArrayList<>();
+        Map<String, BookFeedReader.Line> rows = new LinkedHashMap<>();
+        for (BookFeedReader.Line line : lines) {
+            String error = line.error() != null ? line.error() : validate(line.book());
+            if (error == null) {
+                BookFeedReader.Line earlier = rows.putIfAbsent(Book.normalizeIsbn(line.book().isbn()), line);
+                if (earlier != null) {
+                    error = "Duplicate ISBN, already on line " + earlier.number();
+                }
+            }
+            if (error != null) {
+                errors.add(new BookImportError(line.number(), line.book() == null ? null : line.book().isbn(), error));
+            }
+        }
+
+        int inserted = 0;
+        if (!rows.isEmpty()) {
+            try {
+                inserted = transactionTemplate.execute(status -> write(rows));
+            } catch (DataAccessException e) {
+                log.warn("Import chunk of {} books rolled back: {}", rows.size(), e.getMessage());
+                String error = e instanceof DuplicateKeyException
+                        ? "Not saved: an ISBN in this chunk was created concurrently, retry the line"
+                        : "Not saved: the chunk could not be written";
+                rows.values().forEach(line -> errors.add(new BookImportError(line.number(), line.book().isbn(), error)));
+                rows.clear();
+            }
+        }
+
+        errors.sort(Comparator.comparingLong(BookImportError::line));
+        for (BookImportError error : errors) {
+            writeLine(out, error);
+        }
+        out.flush();
+        return new ChunkResult(inserted, rows.size() - inserted, errors.size());
+    }
+
+    /**
+     * Returns the number of inserted books; the rest of {@code rows} were updates.
+     */
+    private int write(Map<String, BookFeedReader.Line> rows) {
+        Map<String, ExistingBook> existing = bookImportRepository.findByNormalizedIsbns(rows.keySet());
+        List<BookRequest> inserts = new ArrayList<>();
+        List<BookUpdate> updates = new ArrayList<>();
+        rows.forEach((isbn, line) -> {
+            ExistingBook book = existing.get(isbn);
+            if (book == null) {
+                inserts.add(line.book());
+            } else {
+                updates.add(new BookUpdate(book.id(), line.book()));
+            }
+        });
+        List<Long> ids = bookImportRepository.insert(inserts);
+        bookImportRepository.update(updates);
+
+        List<BookResponse> written = new ArrayList<>(rows.size());
+        for (int i = 0; i < inserts.size(); i++) {
+            written.add(toResponse(ids.get(i), inserts.get(i)));
+        }
+        for (BookUpdate update : updates) {
+            written.add(toResponse(update.id(), update.book()));
+            BookRequest book = update.book();
+            if (existing.get(Book.normalizeIsbn(book.isbn())).price().compareTo(book.price()) != 0) {
+                bookEventPublisher.publishBookUpdated(new BookUpdatedEvent(update.id(), book.isbn(), book.price()));
+            }
+        }
+        rows.keySet().forEach(isbnBloomFilter::add);
+        bookSearchIndex.putAllAfterCommit(written);
+        bookCache.evictAfterCommit(written.stream().map(BookResponse::id).toList());
+        return inserts.size();
+    }
+
+    /**
+     * Applies the same rules as {@code POST /books}, plus price and stock, which the table requires.
+     */
+    private String validate(BookRequest book) {
+        String violations = validator.validate(book).stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(BookImportService::describe)
+                .collect(Collectors.joining(", "));
+        if (!violations.isEmpty()) {
+            return violations;
+        }
+        if (book.price() == null) {
+            return "price: Price is required";
+        }
+        return book.stock() == null ? "stock: Stock is required" : null;
+    }
+
+    private static String describe(ConstraintViolation<BookRequest> violation) {
+        return violation.getPropertyPath() + ": " + violation.getMessage();
+    }
+
+    private static BookResponse toResponse(Long id, BookRequest book) {
+        return new BookResponse(id, book.isbn(), book.title(), book.author(), book.price(), book.stock());
+    }
+
+    private void writeLine(OutputStream out, Object value) throws IOException {
+        out.write(objectWriter.writeValueAsBytes(value));
+        out.write(NEWLINE);
+    }
+}
@@ -0,0 +1,307 @@
+package com.bookstore.catalog.service;
+
+import com.bookstore.catalog.data.mapper.BookMapper;
+import com.bookstore.catalog.data.repository.BookRepository;
+import com.bookstore.catalog.dto.BookResponse;
+import com.bookstore.catalog.dto.BookSearchResponse;
+import com.bookstore.catalog.exception.InvalidRequestException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index over the title, author and ISBN of every book, serving {@code GET /books/search}
+ * without touching the database. It is filled from a streamed scan of {@code books} once the application is
+ * ready, then kept current by {@link BookService} writes on this instance and by the book change broadcast
+ * for writes made elsewhere.
+ * <p>
+ * Every query term must match a word of the book, either exactly or as a prefix. A match scores the field
+ * weight (ISBN over title over author) times the term's inverse document frequency, halved for prefix matches.
+ */
+@Slf4j
+@Component
+public class BookSearchIndex {
+    static final int MAX_PAGE_SIZE = 100;
+    private static final int LOAD_CHUNK = 1000;
+    private static final float PREFIX_MATCH_FACTOR = 0.5f;
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    // Joins hyphenated ISBNs ("978-0-13") into one word so they match however they were typed.
+    private static final Pattern ISBN_HYPHEN = Pattern.compile("(?<=\\d)-(?=[\\dx])");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private enum Field {
+        ISBN(3f), TITLE(2f), AUTHOR(1f);
+
+        private final float weight;
+
+        Field(float weight) {
+            this.weight = weight;
+        }
+    }
+
+    private record Document(BookResponse book, Map<String, Float> terms) {
+    }
+
+    private record Hit(Long id, float score) {
+    }
+
+    private final BookRepository bookRepository;
+    private final BookMapper bookMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Timer queryTimer;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    private long postingCount;
+    /** Books written while the startup scan runs; the scan must not overwrite them with the rows it read earlier. */
+    private Set<Long> writtenWhileLoading;
+
+    public BookSearchIndex(BookRepository bookRepository, BookMapper bookMapper,
+                           PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.bookRepository = bookRepository;
+        this.bookMapper = bookMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.queryTimer = Timer.builder("catalog.search.query")
+                .description("Time to run a book search against the in-memory index")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("catalog.search.index.documents", this, index -> index.read(index.documents::size))
+                .description("Books in the search index")
+                .register(meterRegistry);
+        Gauge.builder("catalog.search.index.terms", this, index -> index.read(index.postings::size))
+                .description("Distinct words in the search index")
+                .register(meterRegistry);
+        Gauge.builder("catalog.search.index.postings", this, index -> index.read(() -> index.postingCount))
+                .description("Word-to-book entries in the search index")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.nanoTime();
+        write(() -> writtenWhileLoading = new HashSet<>());
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<BookResponse> books = bookRepository.streamAllForSearch()) {
+                    List<BookResponse> chunk = new ArrayList<>(LOAD_CHUNK);
+                    books.forEach(book -> {
+                        chunk.add(book);
+                        if (chunk.size() == LOAD_CHUNK) {
+                            loadChunk(chunk);
+                            chunk.clear();
+                        }
+                    });
+                    loadChunk(chunk);
+                }
+            });
+        } finally {
+            write(() -> writtenWhileLoading = null);
+        }
+        log.info("Search index loaded with {} books in {} ms", read(documents::size),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    public BookSearchResponse search(String query, int page, int size) {
+        List<String> terms = List.copyOf(new LinkedHashSet<>(tokenize(query == null ? "" : query)));
+        if (terms.isEmpty()) {
+            throw new InvalidRequestException("Search query must contain at least one letter or digit");
+        }
+        if (page < 0) {
+            throw new InvalidRequestException("Page must not be negative");
+        }
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        return queryTimer.record(() -> read(() -> {
+            List<Hit> hits = match(terms);
+            hits.sort(Comparator.comparingDouble(Hit::score).reversed().thenComparing(Hit::id));
+            int from = (int) Math.min((long) page * pageSize, hits.size());
+            List<BookResponse> content = hits.subList(from, Math.min(from + pageSize, hits.size())).stream()
+                    .map(hit -> documents.get(hit.id()).book())
+                    .toList();
+            return new BookSearchResponse(content, page, pageSize, hits.size());
+        }));
+    }
+
+    /**
+     * Indexes the book once the current transaction commits, so a rollback never leaves it searchable.
+     */
+    public void putAfterCommit(BookResponse book) {
+        afterCommit(() -> write(() -> put(book)));
+    }
+
+    public void putAllAfterCommit(List<BookResponse> books) {
+        List<BookResponse> copy = List.copyOf(books);
+        afterCommit(() -> write(() -> copy.forEach(this::put)));
+    }
+
+    public void removeAfterCommit(Long id) {
+        afterCommit(() -> write(() -> remove(id)));
+    }
+
+    /**
+     * Re-reads the books from the database, dropping those that no longer exist. Used for writes made
+     * by other instances, which only tell us which books changed.
+     */
+    public void refresh(Collection<Long> ids) {
+        Set<Long> missing = new HashSet<>(ids);
+        List<BookResponse> books = bookRepository.findByIdIn(ids).stream().map(bookMapper::toResponse).toList();
+        books.forEach(book -> missing.remove(book.id()));
+        write(() -> {
+            books.forEach(this::put);
+            missing.forEach(this::remove);
+        });
+    }
+
+    static List<String> tokenize(String text) {
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+        return NON_WORD.splitAsStream(ISBN_HYPHEN.matcher(folded).replaceAll(""))
+                .filter(word -> !word.isEmpty())
+                .toList();
+    }
+
+    private List<Hit> match(List<String> terms) {
+        Map<Long, Float> scores = null;
+        for (String term : terms) {
+            Map<Long, Float> termScores = new HashMap<>();
+            NavigableMap<String, Map<Long, Float>> words = postings.subMap(term, true, term + Character.MAX_VALUE, false);
+            for (Map.Entry<String, Map<Long, Float>> word : words.entrySet()) {
+                float idf = (float) Math.log(1 + (double) documents.size() / word.getValue().size());
+                float factor = word.getKey().length() == term.length() ? idf : idf * PREFIX_MATCH_FACTOR;
+                word.getValue().forEach((id, weight) -> termScores.merge(id, weight * factor, Math::max));
+            }
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((id, score) -> score + termScores.get(id));
+            }
+            if (scores.isEmpty()) {
+                break;
+            }
+        }
+        List<Hit> hits = new ArrayList<>(scores.size());
+        scores.forEach((id, score) -> hits.add(new Hit(id, score)));
+        return hits;
+    }
+
+    private void loadChunk(List<BookResponse> chunk) {
+        write(() -> chunk.stream()
+                .filter(book -> !writtenWhileLoading.contains(book.id()))
+                .forEach(this::index));
+    }
+
+    private void put(BookResponse book) {
+        markWritten(book.id());
+        index(book);
+    }
+
+    private void index(BookResponse book) {
+        unindex(book.id());
+        Map<String, Float> terms = new HashMap<>();
+        addTerms(terms, Field.ISBN, book.isbn());
+        addTerms(terms, Field.TITLE, book.title());
+        addTerms(terms, Field.AUTHOR, book.author());
+        terms.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(book.id(), weight));
+        postingCount += terms.size();
+        documents.put(book.id(), new Document(book, terms));
+    }
+
+    private void remove(Long id) {
+        markWritten(id);
+        unindex(id);
+    }
+
+    private void unindex(Long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (String term : document.terms().keySet()) {
+            Map<Long, Float> books = postings.get(term);
+            books.remove(id);
+            if (books.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        postingCount -= document.terms().size();
+    }
+
+    private void markWritten(Long id) {
+        if (writtenWhileLoading != null) {
+            writtenWhileLoading.add(id);
+        }
+    }
+
+    /**
+     * A word found in several fields of the same book scores the sum of their weights.
+     */
+    private static void addTerms(Map<String, Float> terms, Field field, String text) {
+        if (text == null) {
+            return;
+        }
+        for (String word : new LinkedHashSet<>(tokenize(text))) {
+            terms.merge(word, field.weight, Float::sum);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private <T> T read(Supplier<T> action) {
+        lock.readLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -3,64 +3,200 @@ package com.bookstore.catalog.service;
 import com.bookstore.catalog.data.entity.Book;
 import com.bookstore.catalog.data.mapper.BookMapper;
 import com.bookstore.catalog.data.repository.BookRepository;
+import com.bookstore.catalog.dto.BookFilter;
+import com.bookstore.catalog.dto.BookPageResponse;
 import com.bookstore.catalog.dto.BookRequest;
 import com.bookstore.catalog.dto.BookResponse;
+import com.bookstore.catalog.dto.BookSearchResponse;
+import com.bookstore.catalog.dto.BookSort;
+import com.bookstore.catalog.exception.InvalidRequestException;
 import com.bookstore.catalog.exception.IsbnAlreadyExistsException;
+import com.bookstore.catalog.messaging.event.BookDeletedEvent;
+import com.bookstore.catalog.messaging.event.BookUpdatedEvent;
+import com.bookstore.catalog.messaging.publisher.BookEventPublisher;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
 @Service
 public class BookService {
+    static final int MAX_BATCH_IDS = 500;
+    static final int MAX_PAGE_SIZE = 100;
+
     private final BookRepository bookRepository;
     private final BookMapper bookMapper;
+    private final BookEventPublisher bookEventPublisher;
+    private final BookCache bookCache;
+    private final BookSearchIndex bookSearchIndex;
+    private final IsbnBloomFilter isbnBloomFilter;
 
-    public BookService(BookRepository bookRepository, BookMapper bookMapper) {
+    public BookService(BookRepository bookRepository, BookMapper bookMapper, BookEventPublisher bookEventPublisher,
+                       BookCache bookCache, BookSearchIndex bookSearchIndex, IsbnBloomFilter isbnBloomFilter) {
         this.bookRepository = bookRepository;
         this.bookMapper = bookMapper;
+        this.bookEventPublisher = bookEventPublisher;
+        this.bookCache = bookCache;
+        this.bookSearchIndex = bookSearchIndex;
+        this.isbnBloomFilter = isbnBloomFilter;
     }
 
     @Transactional
     public BookResponse create(BookRequest bookRequest) {
-        bookRepository.findByIsbnIgnoreCase(bookRequest.isbn()).ifPresent(book -> {
-            throw new IsbnAlreadyExistsException(bookRequest.isbn());
-        });
+        checkIsbnAvailable(bookRequest.isbn());
 
         Book book = bookMapper.toEntity(bookRequest);
-        Book savedBook = bookRepository.save(book);
-        return bookMapper.toResponse(savedBook);
+        Book savedBook = saveWithUniqueIsbn(book);
+        BookResponse response = bookMapper.toResponse(savedBook);
+        bookSearchIndex.putAfterCommit(response);
+        // Nothing is cached for a new book yet, but the broadcast makes the other instances index it.
+        bookCache.evictAfterCommit(List.of(savedBook.getId()));
+        return response;
     }
 
-    public List<BookResponse> getAll() {
-        return bookRepository.findAll().stream().map(bookMapper::toResponse).toList();
+    /**
+     * Keyset pagination: the next page starts strictly after the cursor's (sort key, id), so every page
+     * is one bounded index range scan regardless of how deep it is.
+     */
+    public BookPageResponse getPage(BookFilter filter, BookSort sort, Sort.Direction direction, String cursor, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        List<Specification<Book>> conditions = new ArrayList<>(matching(filter));
+        if (cursor != null && !cursor.isBlank()) {
+            conditions.add(after(BookCursor.decode(cursor, sort), direction.isAscending()));
+        }
+        Sort order = sort == BookSort.ID ? Sort.by(direction, "id") : Sort.by(direction, sort.property(), "id");
+
+        List<Book> books = bookRepository.findBy(Specification.allOf(conditions),
+                query -> query.sortBy(order).limit(pageSize + 1).all());
+        boolean hasNext = books.size() > pageSize;
+        List<Book> page = hasNext ? books.subList(0, pageSize) : books;
+        String nextCursor = hasNext ? BookCursor.after(page.getLast(), sort).encode() : null;
+        return new BookPageResponse(page.stream().map(bookMapper::toResponse).toList(), nextCursor);
+    }
+
+    public BookSearchResponse search(String query, int page, int size) {
+        return bookSearchIndex.search(query, page, size);
     }
 
     public BookResponse getById(Long id) {
-        Book book = checkExistentBook(id);
-        return bookMapper.toResponse(book);
+        return bookCache.get(id, bookId -> bookMapper.toResponse(checkExistentBook(bookId)));
+    }
+
+    public List<BookResponse> getByIds(Collection<Long> ids) {
+        if (ids.size() > MAX_BATCH_IDS) {
+            throw new InvalidRequestException("At most " + MAX_BATCH_IDS + " book ids can be requested at once");
+        }
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return bookRepository.findByIdIn(ids).stream().map(bookMapper::toResponse).toList();
     }
 
     @Transactional
     public BookResponse update(Long id, BookRequest bookRequest) {
         Book book = checkExistentBook(id);
 
-        Optional<Book> existingBook = bookRepository.findByIsbnIgnoreCase(bookRequest.isbn());
-        if (existingBook.isPresent() && !existingBook.get().getId().equals(id)) {
-            throw new IsbnAlreadyExistsException(bookRequest.isbn());
+        // Any other row holding the new ISBN is a different book; an unchanged ISBN needs no check at all.
+        if (!Book.normalizeIsbn(bookRequest.isbn()).equals(book.getIsbnNormalized())) {
+            checkIsbnAvailable(bookRequest.isbn());
         }
 
         bookMapper.updateEntityFromRequest(bookRequest, book);
-        Book updatedBook = bookRepository.save(book);
-        return bookMapper.toResponse(updatedBook);
+        Book updatedBook = saveWithUniqueIsbn(book);
+        bookEventPublisher.publishBookUpdated(
+                new BookUpdatedEvent(updatedBook.getId(), updatedBook.getIsbn(), updatedBook.getPrice()));
+        BookResponse response = bookMapper.toResponse(updatedBook);
+        bookSearchIndex.putAfterCommit(response);
+        bookCache.evictAfterCommit(List.of(id));
+        return response;
     }
 
     @Transactional
     public void delete(Long id) {
         Book book = checkExistentBook(id);
         bookRepository.delete(book);
+        bookEventPublisher.publishBookDeleted(new BookDeletedEvent(id));
+        bookSearchIndex.removeAfterCommit(id);
+        bookCache.evictAfterCommit(List.of(id));
+    }
+
+    private static List<Specification<Book>> matching(BookFilter filter) {
+        List<Specification<Book>> conditions = new ArrayList<>();
+        if (filter.author() != null && !filter.author().isBlank()) {
+            conditions.add((root, query, cb) -> cb.equal(root.get("author"), filter.author()));
+        }
+        if (filter.minPrice() != null) {
+            conditions.add((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("price"), filter.minPrice()));
+        }
+        if (filter.maxPrice() != null) {
+            conditions.add((root, query, cb) -> cb.lessThanOrEqualTo(root.get("price"), filter.maxPrice()));
+        }
+        if (filter.inStock()) {
+            conditions.add((root, query, cb) -> cb.greaterThan(root.get("stock"), 0));
+        }
+        return conditions;
+    }
+
+    private static Specification<Book> after(BookCursor cursor, boolean ascending) {
+        return (root, query, cb) -> {
+            Path<Long> id = root.get("id");
+            Predicate idAfter = ascending ? cb.greaterThan(id, cursor.id()) : cb.lessThan(id, cursor.id());
+            return switch (cursor.sort()) {
+                case ID -> idAfter;
+                case TITLE, AUTHOR -> after(cb, root.get(cursor.sort().property()), cursor.value(), idAfter, ascending);
+                case PRICE -> after(cb, root.get("price"), cursor.price(), idAfter, ascending);
+            };
+        };
+    }
+
+    /**
+     * {@code (key, id) > (value, lastId)}, plus a redundant {@code key >= value} so the planner can start
+     * the index range scan at the cursor instead of filtering from the first row.
+     */
+    private static <C extends Comparable<? super C>> Predicate after(CriteriaBuilder cb, Path<C> key, C value,
+                                                                     Predicate idAfter, boolean ascending) {
+        if (ascending) {
+            return cb.and(cb.greaterThanOrEqualTo(key, value),
+                    cb.or(cb.greaterThan(key, value), cb.and(cb.equal(key, value), idAfter)));
+        }
+        return cb.and(cb.lessThanOrEqualTo(key, value),
+                cb.or(cb.lessThan(key, value), cb.and(cb.equal(key, value), idAfter)));
+    }
+
+    private void checkIsbnAvailable(String isbn) {
+        String normalizedIsbn = Book.normalizeIsbn(isbn);
+        if (isbnBloomFilter.mightContain(normalizedIsbn) && bookRepository.existsByIsbnNormalized(normalizedIsbn)) {
+            throw new IsbnAlreadyExistsException(isbn);
+        }
+    }
+
+    /**
+     * Flushes so a duplicate ISBN that slipped past {@link #checkIsbnAvailable} (a book just created on another
+     * instance, or a concurrent request) surfaces here as a unique violation. ISBN is the only unique key a
+     * book write can break.
+     */
+    private Book saveWithUniqueIsbn(Book book) {
+        try {
+            Book savedBook = bookRepository.saveAndFlush(book);
+            isbnBloomFilter.add(savedBook.getIsbnNormalized());
+            return savedBook;
+        } catch (DataIntegrityViolationException e) {
+            if (e.getCause() instanceof ConstraintViolationException violation
+                    && violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE) {
+                throw new IsbnAlreadyExistsException(book.getIsbn());
+            }
+            throw e;
+        }
     }
 
     private Book checkExistentBook(Long id) {
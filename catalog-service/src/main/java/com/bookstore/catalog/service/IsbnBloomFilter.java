@@ -0,0 +1,145 @@
+package com.bookstore.catalog.service;
+
+import com.bookstore.catalog.data.repository.BookRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filter of the normalized ISBNs in the catalog, so creating a book with a new ISBN can usually skip
+ * the uniqueness query. "Absent" answers are certain for ISBNs written on this instance or present at startup;
+ * every other answer falls back to the database. ISBNs are never removed, so deleted books only cost a query.
+ * Books created concurrently on other instances are not seen here; the unique constraint on
+ * {@code isbn_normalized} still rejects those duplicates.
+ */
+@Slf4j
+@Component
+public class IsbnBloomFilter {
+    private final BookRepository bookRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long expectedIsbns;
+    private final double falsePositiveRate;
+    private final Counter absentChecks;
+    private final Counter possibleChecks;
+
+    private volatile Bits bits;
+    private volatile boolean loaded;
+
+    public IsbnBloomFilter(BookRepository bookRepository, PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${catalog.isbn-filter.expected-isbns:100000}") long expectedIsbns,
+                           @Value("${catalog.isbn-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.bookRepository = bookRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.expectedIsbns = expectedIsbns;
+        this.falsePositiveRate = falsePositiveRate;
+        this.bits = new Bits(expectedIsbns, falsePositiveRate);
+        this.absentChecks = Counter.builder("catalog.isbn-filter.checks")
+                .description("ISBN uniqueness checks answered by the Bloom filter alone or sent to the database")
+                .tag("result", "absent")
+                .register(meterRegistry);
+        this.possibleChecks = Counter.builder("catalog.isbn-filter.checks")
+                .description("ISBN uniqueness checks answered by the Bloom filter alone or sent to the database")
+                .tag("result", "possible")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Backfills {@code isbn_normalized} and loads every ISBN, sized for twice the current catalog so it stays
+     * accurate as books are added. Until this has finished every ISBN is reported as possibly present.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            int backfilled = bookRepository.normalizeMissingIsbns();
+            if (backfilled > 0) {
+                log.info("Normalized the ISBN of {} existing books", backfilled);
+            }
+            Bits loading = new Bits(Math.max(expectedIsbns, 2 * bookRepository.count()), falsePositiveRate);
+            // Published before the scan so ISBNs added meanwhile land in the filter being filled.
+            bits = loading;
+            try (Stream<String> isbns = bookRepository.streamNormalizedIsbns()) {
+                isbns.forEach(loading::add);
+            }
+        });
+        loaded = true;
+        log.info("ISBN filter loaded in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    public boolean mightContain(String normalizedIsbn) {
+        boolean possible = !loaded || bits.mightContain(normalizedIsbn);
+        (possible ? possibleChecks : absentChecks).increment();
+        return possible;
+    }
+
+    public void add(String normalizedIsbn) {
+        bits.add(normalizedIsbn);
+    }
+
+    /**
+     * Bit array probed at {@code hashes} positions derived from two 64-bit hashes (Kirsch-Mitzenmacher).
+     * Bits are set with CAS, so concurrent adds need no lock.
+     */
+    private static final class Bits {
+        private final AtomicLongArray words;
+        private final long size;
+        private final int hashes;
+
+        private Bits(long expected, double falsePositiveRate) {
+            long n = Math.max(expected, 1);
+            long optimal = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.words = new AtomicLongArray((int) Math.min((optimal + 63) / 64, Integer.MAX_VALUE));
+            this.size = (long) words.length() * 64;
+            this.hashes = Math.max(1, (int) Math.round((double) size / n * Math.log(2)));
+        }
+
+        private void add(String value) {
+            long h1 = fnv1a(value);
+            long h2 = mix(h1) | 1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, size);
+                words.accumulateAndGet((int) (bit >>> 6), 1L << bit, (word, mask) -> word | mask);
+            }
+        }
+
+        private boolean mightContain(String value) {
+            long h1 = fnv1a(value);
+            long h2 = mix(h1) | 1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, size);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static long fnv1a(String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b & 0xff;
+                hash *= 0x100000001b3L;
+            }
+            return hash;
+        }
+
+        /** SplitMix64 finalizer, used as the second, independent hash. */
+        private static long mix(long z) {
+            z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+            z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+            return z ^ (z >>> 31);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.bookstore.catalog.service;
+
+import com.bookstore.catalog.data.repository.BookStockRepository;
+import com.bookstore.catalog.data.repository.BookStockRepository.Reservation;
+import com.bookstore.catalog.data.repository.BookStockRepository.StockDecrement;
+import com.bookstore.catalog.messaging.listener.OrderCreatedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class StockService {
+    private final BookStockRepository bookStockRepository;
+    private final BookCache bookCache;
+
+    public StockService(BookStockRepository bookStockRepository, BookCache bookCache) {
+        this.bookStockRepository = bookStockRepository;
+        this.bookCache = bookCache;
+    }
+
+    /**
+     * Applies the stock decrements of a batch of orders in one transaction. Quantities are summed per book
+     * and sent as one JDBC batch in book id order, so each best-seller row is locked once per batch rather
+     * than once per message, and concurrent consumers always lock rows in the same order.
+     * When a book cannot cover the whole batch, its lines are retried one by one. What each order got
+     * is recorded in {@code stock_reservations} so a cancellation can give it back.
+     */
+    @Transactional
+    public void applyOrders(List<OrderCreatedEvent> events) {
+        Map<Long, OrderCreatedEvent> orders = new LinkedHashMap<>();
+        events.forEach(event -> orders.putIfAbsent(event.getOrderId(), event));
+        if (orders.isEmpty()) {
+            return;
+        }
+        Set<Long> processed = bookStockRepository.findProcessedOrders(orders.keySet());
+        orders.keySet().removeAll(processed);
+        if (orders.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Integer> quantityByBook = new TreeMap<>();
+        for (OrderCreatedEvent order : orders.values()) {
+            for (OrderCreatedEvent.Item item : items(order)) {
+                quantityByBook.merge(item.getBookId(), item.getQuantity(), Integer::sum);
+            }
+        }
+
+        List<StockDecrement> decrements = quantityByBook.entrySet().stream()
+                .map(entry -> new StockDecrement(entry.getKey(), entry.getValue()))
+                .toList();
+        int[] updated = decrements.isEmpty() ? new int[0] : bookStockRepository.decrement(decrements);
+
+        Set<Long> shortBooks = new HashSet<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                shortBooks.add(decrements.get(i).bookId());
+            }
+        }
+        List<Reservation> reservations = reserve(orders.values(), shortBooks);
+        if (!reservations.isEmpty()) {
+            bookStockRepository.reserve(reservations);
+        }
+        bookStockRepository.markProcessed(orders.keySet(), LocalDateTime.now());
+        // Stock is updated with plain JDBC, so cached responses of these books must be dropped explicitly.
+        bookCache.evictAfterCommit(quantityByBook.keySet());
+        log.debug("Applied stock for {} orders ({} books)", orders.size(), decrements.size());
+    }
+
+    /**
+     * Puts back the copies reserved for a cancelled order. An order cancelled before its
+     * {@code OrderCreatedEvent} was applied is marked processed instead, so that event takes nothing.
+     */
+    @Transactional
+    public void releaseOrder(Long orderId) {
+        if (bookStockRepository.findProcessedOrders(Set.of(orderId)).isEmpty()) {
+            bookStockRepository.markProcessed(Set.of(orderId), LocalDateTime.now());
+            return;
+        }
+        List<Reservation> reservations = bookStockRepository.releaseReservations(orderId);
+        if (reservations.isEmpty()) {
+            return;
+        }
+        bookStockRepository.restock(reservations);
+        bookCache.evictAfterCommit(reservations.stream().map(Reservation::bookId).collect(Collectors.toSet()));
+        log.debug("Released stock of cancelled order {} ({} books)", orderId, reservations.size());
+    }
+
+    /**
+     * Lists what each order got. Books whose batched decrement failed are retried line by line in arrival
+     * order so earlier orders still get their copies; lines that remain unfilled are logged and not reserved.
+     */
+    private List<Reservation> reserve(Collection<OrderCreatedEvent> orders, Set<Long> shortBooks) {
+        List<Reservation> reservations = new ArrayList<>();
+        for (OrderCreatedEvent order : orders) {
+            Map<Long, Integer> reservedByBook = new TreeMap<>();
+            for (OrderCreatedEvent.Item item : items(order)) {
+                if (shortBooks.contains(item.getBookId())
+                        && !bookStockRepository.decrement(new StockDecrement(item.getBookId(), item.getQuantity()))) {
+                    log.warn("Insufficient stock for book {}: {} copies of order {} not reserved",
+                            item.getBookId(), item.getQuantity(), order.getOrderId());
+                    continue;
+                }
+                reservedByBook.merge(item.getBookId(), item.getQuantity(), Integer::sum);
+            }
+            reservedByBook.forEach((bookId, quantity) ->
+                    reservations.add(new Reservation(order.getOrderId(), bookId, quantity)));
+        }
+        return reservations;
+    }
+
+    private static List<OrderCreatedEvent.Item> items(OrderCreatedEvent order) {
+        return order.getItems() == null ? List.of() : order.getItems();
+    }
+}
@@ -1,7 +1,14 @@
 package com.bookstore.catalog.controller;
 
+import com.bookstore.catalog.dto.BookFilter;
+import com.bookstore.catalog.dto.BookImportSummary;
+import com.bookstore.catalog.dto.BookPageResponse;
 import com.bookstore.catalog.dto.BookRequest;
 import com.bookstore.catalog.dto.BookResponse;
+import com.bookstore.catalog.dto.BookSearchResponse;
+import com.bookstore.catalog.dto.BookSort;
+import com.bookstore.catalog.service.BookFeedReader;
+import com.bookstore.catalog.service.BookImportService;
 import com.bookstore.catalog.service.BookService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,19 +16,28 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Set;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -35,6 +51,9 @@ public class BookControllerTest {
     @MockitoBean
     private BookService bookService;
 
+    @MockitoBean
+    private BookImportService bookImportService;
+
     private BookRequest bookRequest;
     private BookResponse bookResponse;
 
@@ -71,13 +90,56 @@ public class BookControllerTest {
     }
 
     @Test
-    void shouldReturnAllBooks() throws Exception {
-        when(bookService.getAll()).thenReturn(List.of(bookResponse));
+    void shouldReturnPageOfBooks() throws Exception {
+        BookFilter filter = new BookFilter("Robert C. Martin", null, new BigDecimal("50"), true);
+        when(bookService.getPage(filter, BookSort.PRICE, Sort.Direction.DESC, null, 10))
+                .thenReturn(new BookPageResponse(List.of(bookResponse), "next"));
+
+        mockMvc.perform(get("/books")
+                        .param("sort", "price").param("direction", "desc").param("size", "10")
+                        .param("author", "Robert C. Martin").param("maxPrice", "50").param("inStock", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].isbn").value("978-85-333-0227-3"))
+                .andExpect(jsonPath("$.content[0].author").value("Robert C. Martin"))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    void shouldReturnBooksByIds() throws Exception {
+        when(bookService.getByIds(Set.of(1L, 2L))).thenReturn(List.of(bookResponse));
 
-        mockMvc.perform(get("/books"))
+        mockMvc.perform(get("/books").param("ids", "1,2,1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(1));
+    }
+
+    @Test
+    void shouldSearchBooks() throws Exception {
+        when(bookService.search("clean arch", 1, 5)).thenReturn(new BookSearchResponse(List.of(bookResponse), 1, 5, 6));
+
+        mockMvc.perform(get("/books/search").param("q", "clean arch").param("page", "1").param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value("Clean Architecture"))
+                .andExpect(jsonPath("$.totalHits").value(6));
+    }
+
+    @Test
+    void shouldStreamImportReport() throws Exception {
+        BookFeedReader feed = mock(BookFeedReader.class);
+        when(bookImportService.open(any(), eq("text/csv"))).thenReturn(feed);
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1)
+                    .write("{\"inserted\":1,\"updated\":0,\"failed\":0}\n".getBytes(StandardCharsets.UTF_8));
+            return new BookImportSummary(1, 0, 0);
+        }).when(bookImportService).importBooks(eq(feed), any());
+
+        mockMvc.perform(post("/books/import")
+                        .contentType("text/csv")
+                        .content("isbn,title,author,price,stock\n978-85-333-0227-3,Clean Architecture,Robert C. Martin,19.90,25\n"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].isbn").value("978-85-333-0227-3"))
-                .andExpect(jsonPath("$[0].author").value("Robert C. Martin"));
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"inserted\":1,\"updated\":0,\"failed\":0}\n"));
     }
 
     @Test
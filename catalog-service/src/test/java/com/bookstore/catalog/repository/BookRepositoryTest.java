@@ -2,13 +2,16 @@ package com.bookstore.catalog.repository;
 
 import com.bookstore.catalog.data.entity.Book;
 import com.bookstore.catalog.data.repository.BookRepository;
+import com.bookstore.catalog.dto.BookResponse;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -19,13 +22,38 @@ public class BookRepositoryTest {
     private BookRepository bookRepository;
 
     @Test
-    void shouldFindBookByIsbnIgnoreCase() {
-        Book book = new Book(null, "TEST-123", "Repo Book", "Repo Author", BigDecimal.TEN, 5);
+    void shouldFindBookByNormalizedIsbn() {
+        Book book = new Book(null, "test-123x", "Repo Book", "Repo Author", BigDecimal.TEN, 5);
         bookRepository.save(book);
 
-        Optional<Book> bookFound = bookRepository.findByIsbnIgnoreCase("TEST-123");
+        Optional<Book> bookFound = bookRepository.findByIsbnNormalized(Book.normalizeIsbn("TEST-123x"));
 
         assertThat(bookFound).isPresent();
         assertThat(bookFound.get().getTitle()).isEqualTo("Repo Book");
+        assertThat(bookRepository.existsByIsbnNormalized("TEST-123X")).isTrue();
+    }
+
+    @Test
+    void shouldFindBooksByIdIn() {
+        Book first = bookRepository.save(new Book(null, "TEST-1", "First", "Author", BigDecimal.ONE, 1));
+        Book second = bookRepository.save(new Book(null, "TEST-2", "Second", "Author", BigDecimal.TWO, 2));
+        bookRepository.save(new Book(null, "TEST-3", "Third", "Author", BigDecimal.TEN, 3));
+
+        List<Book> books = bookRepository.findByIdIn(List.of(first.getId(), second.getId(), -1L));
+
+        assertThat(books).extracting(Book::getIsbn).containsExactlyInAnyOrder("TEST-1", "TEST-2");
+    }
+
+    @Test
+    void shouldStreamWholeCatalogAsResponses() {
+        bookRepository.save(new Book(null, "TEST-1", "First", "Author", BigDecimal.ONE, 1));
+        bookRepository.save(new Book(null, "TEST-2", "Second", "Author", BigDecimal.TWO, 2));
+
+        List<BookResponse> books;
+        try (Stream<BookResponse> stream = bookRepository.streamAllForSearch()) {
+            books = stream.toList();
+        }
+
+        assertThat(books).extracting(BookResponse::title).containsExactlyInAnyOrder("First", "Second");
     }
 }
@@ -0,0 +1,108 @@
+package com.bookstore.catalog.service;
+
+import com.bookstore.catalog.dto.BookResponse;
+import com.bookstore.catalog.messaging.event.BookCacheEvictEvent;
+import com.bookstore.catalog.messaging.publisher.BookEventPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class BookCacheTest {
+    private static final int CALLERS = 32;
+
+    @Mock private BookEventPublisher bookEventPublisher;
+
+    private BookCache bookCache;
+    private final BookResponse book = new BookResponse(1L, "978-0132350884", "Clean Code", "Robert C. Martin",
+            BigDecimal.TEN, 5);
+
+    @BeforeEach
+    void setUp() {
+        bookCache = new BookCache(bookEventPublisher, new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void shouldLoadColdKeyOnceForConcurrentCallers() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<BookResponse>> results = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(callers.submit(() -> {
+                    start.await();
+                    return bookCache.get(1L, id -> {
+                        loads.incrementAndGet();
+                        sleep(50);
+                        return book;
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<BookResponse> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(book);
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void shouldNotCacheMissingBooks() {
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> bookCache.get(2L, id -> {
+                loads.incrementAndGet();
+                throw new EntityNotFoundException();
+            })).isInstanceOf(EntityNotFoundException.class);
+        }
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void shouldEvictLocallyAndBroadcastToOtherInstances() {
+        bookCache.get(1L, id -> book);
+
+        bookCache.evictAfterCommit(List.of(1L));
+
+        AtomicInteger loads = new AtomicInteger();
+        bookCache.get(1L, id -> {
+            loads.incrementAndGet();
+            return book;
+        });
+        assertThat(loads).hasValue(1);
+        verify(bookEventPublisher).publishBookCacheEvict(new BookCacheEvictEvent(List.of(1L)));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
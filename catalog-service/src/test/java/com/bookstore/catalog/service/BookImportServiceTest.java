@@ -0,0 +1,151 @@
+package com.bookstore.catalog.service;
+
+import com.bookstore.catalog.data.entity.Book;
+import com.bookstore.catalog.data.repository.BookImportRepository;
+import com.bookstore.catalog.data.repository.BookRepository;
+import com.bookstore.catalog.dto.BookImportSummary;
+import com.bookstore.catalog.dto.BookResponse;
+import com.bookstore.catalog.exception.InvalidRequestException;
+import com.bookstore.catalog.messaging.event.BookUpdatedEvent;
+import com.bookstore.catalog.messaging.publisher.BookEventPublisher;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest(properties = "catalog.import.chunk-size=2")
+@AutoConfigureJson
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@ActiveProfiles("test")
+@Import({BookImportService.class, BookImportRepository.class})
+class BookImportServiceTest {
+    @Autowired private BookImportService bookImportService;
+    @Autowired private BookRepository bookRepository;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private TestEntityManager entityManager;
+
+    @MockitoBean private BookEventPublisher bookEventPublisher;
+    @MockitoBean private BookCache bookCache;
+    @MockitoBean private BookSearchIndex bookSearchIndex;
+    @MockitoBean private IsbnBloomFilter isbnBloomFilter;
+
+    @Test
+    void shouldImportCsvAndReportRejectedLines() throws Exception {
+        String feed = """
+                title,isbn,author,stock,price
+                "Code, Complete",978-0735619678,Steve McConnell,3,45.00
+                The Pragmatic Programmer,978-0201616224,"Andrew ""Andy"" Hunt",5,39.90
+
+                Broken,978-1,Someone,1,free
+                No Title,978-2,,1,10.00
+                Too,Many,Fields,Here,1,2
+                Repeated,978-0201616224,Someone,1,10.00
+                Working Effectively with Legacy Code,978-0131177055,Michael Feathers,0,49.99
+                """;
+
+        List<JsonNode> report = importFeed("text/csv", feed);
+
+        assertThat(report.subList(0, report.size() - 1))
+                .extracting(line -> line.get("line").asLong() + " " + line.get("error").asText())
+                .containsExactly(
+                        "5 price: not a number",
+                        "6 author: Author is required",
+                        "7 Expected 5 fields but found 6");
+        assertThat(summary(report)).isEqualTo(new BookImportSummary(3, 1, 3));
+        // Line 8 repeats an ISBN from an earlier chunk, so it overwrites that book.
+        Book book = bookRepository.findByIsbnNormalized("978-0201616224").orElseThrow();
+        assertThat(book.getTitle()).isEqualTo("Repeated");
+        assertThat(bookRepository.findByIsbnNormalized("978-0735619678").orElseThrow().getTitle())
+                .isEqualTo("Code, Complete");
+        assertThat(bookRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldUpsertNdjsonByIsbnAndPublishPriceChanges() throws Exception {
+        Book existing = bookRepository.saveAndFlush(
+                new Book(null, "978-0132350884", "Clean Code", "Robert C. Martin", new BigDecimal("30.00"), 1));
+        Book unchangedPrice = bookRepository.saveAndFlush(
+                new Book(null, "978-0134494166", "Clean Architecture", "Robert C. Martin", new BigDecimal("35.00"), 1));
+        String feed = """
+                {"isbn":"978-0132350884","title":"Clean Code","author":"Robert C. Martin","price":32.50,"stock":7}
+                {"isbn":"978-0134494166","title":"Clean Architecture (2nd)","author":"Robert C. Martin","price":35,"stock":2}
+                {"isbn":"978-0137081073","title":"The Clean Coder","author":"Robert C. Martin","price":28.00,"stock":4}
+                {"isbn":"978-0137081073","title":"The Clean Coder","author":"Robert C. Martin","price":28.00,"stock":4
+                {"isbn":"978-0137081074","title":"Free Book","author":"Someone","price":0,"stock":4}
+                null
+                """;
+
+        List<JsonNode> report = importFeed("application/x-ndjson", feed);
+
+        assertThat(report.subList(0, report.size() - 1)).extracting(line -> line.get("line").asLong())
+                .containsExactly(4L, 5L, 6L);
+        assertThat(report.get(1).get("error").asText()).isEqualTo("price: Price must be greater than zero");
+        assertThat(report.get(2).get("error").asText()).isEqualTo("Expected a JSON object");
+        assertThat(summary(report)).isEqualTo(new BookImportSummary(1, 2, 3));
+        // The import writes with JDBC; drop the copies this test loaded through JPA.
+        entityManager.clear();
+        assertThat(bookRepository.findByIsbnNormalized("978-0132350884").orElseThrow().getStock()).isEqualTo(7);
+        assertThat(bookRepository.findByIsbnNormalized("978-0137081073")).isPresent();
+        verify(bookEventPublisher).publishBookUpdated(
+                new BookUpdatedEvent(existing.getId(), "978-0132350884", new BigDecimal("32.50")));
+        verify(bookEventPublisher, never()).publishBookUpdated(
+                new BookUpdatedEvent(unchangedPrice.getId(), "978-0134494166", new BigDecimal("35")));
+        verify(bookCache).evictAfterCommit(List.of(existing.getId(), unchangedPrice.getId()));
+        verify(bookSearchIndex).putAllAfterCommit(List.of(
+                new BookResponse(existing.getId(), "978-0132350884", "Clean Code", "Robert C. Martin",
+                        new BigDecimal("32.50"), 7),
+                new BookResponse(unchangedPrice.getId(), "978-0134494166", "Clean Architecture (2nd)",
+                        "Robert C. Martin", new BigDecimal("35"), 2)));
+        verify(isbnBloomFilter).add("978-0137081073");
+    }
+
+    @Test
+    void shouldRejectFeedsItCannotParse() {
+        assertThatThrownBy(() -> bookImportService.open(stream("isbn,title\n"), "text/csv"))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> bookImportService.open(stream("{}"), "application/json"))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> bookImportService.open(stream("{}"), "not a media type"))
+                .isInstanceOf(InvalidRequestException.class);
+        verify(bookSearchIndex, never()).putAllAfterCommit(any());
+    }
+
+    private List<JsonNode> importFeed(String contentType, String feed) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        bookImportService.importBooks(bookImportService.open(stream(feed), contentType), out);
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+
+    private BookImportSummary summary(List<JsonNode> report) throws Exception {
+        return objectMapper.treeToValue(report.getLast(), BookImportSummary.class);
+    }
+
+    private static ByteArrayInputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,160 @@
+package com.bookstore.catalog.service;
+
+import com.bookstore.catalog.data.entity.Book;
+import com.bookstore.catalog.data.mapper.BookMapper;
+import com.bookstore.catalog.data.repository.BookRepository;
+import com.bookstore.catalog.dto.BookResponse;
+import com.bookstore.catalog.dto.BookSearchResponse;
+import com.bookstore.catalog.exception.InvalidRequestException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookSearchIndexTest {
+    private static final BookResponse CLEAN_CODE = book(1L, "978-0-13-235088-4", "Clean Code", "Robert C. Martin");
+    private static final BookResponse CLEAN_ARCHITECTURE =
+            book(2L, "978-0-13-449416-6", "Clean Architecture", "Robert C. Martin");
+    private static final BookResponse REFACTORING = book(3L, "978-0-13-475759-9", "Refactoring", "Martin Fowler");
+    private static final BookResponse CIEN_ANOS = book(4L, "978-0-06-088328-7", "Cien años de soledad",
+            "Gabriel García Márquez");
+
+    @Mock private BookRepository bookRepository;
+    @Mock private BookMapper bookMapper;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private BookSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        index = new BookSearchIndex(bookRepository, bookMapper, transactionManager, meterRegistry);
+    }
+
+    @Test
+    void shouldLoadCatalogFromStreamedScan() {
+        when(bookRepository.streamAllForSearch())
+                .thenReturn(Stream.of(CLEAN_CODE, CLEAN_ARCHITECTURE, REFACTORING, CIEN_ANOS));
+
+        index.load();
+
+        assertThat(titles(index.search("martin", 0, 10))).containsExactlyInAnyOrder(
+                "Clean Code", "Clean Architecture", "Refactoring");
+        assertThat(meterRegistry.get("catalog.search.index.documents").gauge().value()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldRankTitleMatchesAboveAuthorMatches() {
+        index.putAfterCommit(book(1L, "1", "Design Patterns", "Erich Gamma"));
+        index.putAfterCommit(book(2L, "2", "Refactoring", "Martin Fowler"));
+        index.putAfterCommit(book(3L, "3", "Fowler on Refactoring", "Someone Else"));
+
+        assertThat(titles(index.search("fowler", 0, 10))).containsExactly("Fowler on Refactoring", "Refactoring");
+    }
+
+    @Test
+    void shouldMatchPrefixesButPreferExactWords() {
+        index.putAfterCommit(CLEAN_CODE);
+        index.putAfterCommit(book(5L, "5", "Codes and Ciphers", "Someone"));
+
+        assertThat(titles(index.search("code", 0, 10))).containsExactly("Clean Code", "Codes and Ciphers");
+        assertThat(titles(index.search("clea arch", 0, 10))).isEmpty();
+        index.putAfterCommit(CLEAN_ARCHITECTURE);
+        assertThat(titles(index.search("clea arch", 0, 10))).containsExactly("Clean Architecture");
+    }
+
+    @Test
+    void shouldMatchIsbnWithOrWithoutHyphensAndIgnoreAccents() {
+        index.putAfterCommit(CLEAN_CODE);
+        index.putAfterCommit(CIEN_ANOS);
+
+        assertThat(titles(index.search("9780132350884", 0, 10))).containsExactly("Clean Code");
+        assertThat(titles(index.search("978-0-13-235", 0, 10))).containsExactly("Clean Code");
+        assertThat(titles(index.search("ANOS garcia", 0, 10))).containsExactly("Cien años de soledad");
+    }
+
+    @Test
+    void shouldPageThroughHitsAndReportTotal() {
+        IntStream.rangeClosed(1, 5).forEach(i -> index.putAfterCommit(book((long) i, "isbn" + i, "Volume " + i, "A")));
+
+        BookSearchResponse second = index.search("volume", 1, 2);
+
+        assertThat(second.totalHits()).isEqualTo(5);
+        assertThat(titles(second)).containsExactly("Volume 3", "Volume 4");
+        assertThat(titles(index.search("volume", 3, 2))).isEmpty();
+    }
+
+    @Test
+    void shouldReindexUpdatedBooksAndDropRemovedOnes() {
+        index.putAfterCommit(CLEAN_CODE);
+        index.putAfterCommit(book(1L, CLEAN_CODE.isbn(), "Working Effectively", CLEAN_CODE.author()));
+        index.putAfterCommit(REFACTORING);
+        index.removeAfterCommit(REFACTORING.id());
+
+        assertThat(titles(index.search("clean", 0, 10))).isEmpty();
+        assertThat(titles(index.search("effective", 0, 10))).containsExactly("Working Effectively");
+        assertThat(titles(index.search("fowler", 0, 10))).isEmpty();
+        assertThat(meterRegistry.get("catalog.search.index.postings").gauge().value())
+                .isEqualTo(6);
+    }
+
+    @Test
+    void shouldRefreshChangedBooksFromDatabase() {
+        index.putAfterCommit(CLEAN_CODE);
+        index.putAfterCommit(REFACTORING);
+        Book renamed = new Book(1L, CLEAN_CODE.isbn(), "Clean Code, 2nd Edition",
+                CLEAN_CODE.author(), BigDecimal.TEN, 5);
+        when(bookRepository.findByIdIn(List.of(1L, 3L))).thenReturn(List.of(renamed));
+        when(bookMapper.toResponse(renamed))
+                .thenReturn(book(1L, CLEAN_CODE.isbn(), renamed.getTitle(), renamed.getAuthor()));
+
+        index.refresh(List.of(1L, 3L));
+
+        assertThat(titles(index.search("edition", 0, 10))).containsExactly("Clean Code, 2nd Edition");
+        assertThat(titles(index.search("refactoring", 0, 10))).isEmpty();
+    }
+
+    @Test
+    void shouldNotLetStartupScanOverwriteNewerWrites() {
+        BookResponse renamed = book(1L, CLEAN_CODE.isbn(), "Clean Code Revised", CLEAN_CODE.author());
+        when(bookRepository.streamAllForSearch()).thenAnswer(invocation -> {
+            index.putAfterCommit(renamed);
+            index.removeAfterCommit(REFACTORING.id());
+            return Stream.of(CLEAN_CODE, REFACTORING);
+        });
+
+        index.load();
+
+        assertThat(titles(index.search("clean", 0, 10))).containsExactly("Clean Code Revised");
+        assertThat(titles(index.search("refactoring", 0, 10))).isEmpty();
+    }
+
+    @Test
+    void shouldRejectQueriesWithoutWords() {
+        assertThatThrownBy(() -> index.search("  -- ", 0, 10)).isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> index.search(null, 0, 10)).isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> index.search("clean", -1, 10)).isInstanceOf(InvalidRequestException.class);
+    }
+
+    private static List<String> titles(BookSearchResponse response) {
+        return response.content().stream().map(BookResponse::title).toList();
+    }
+
+    private static BookResponse book(Long id, String isbn, String title, String author) {
+        return new BookResponse(id, isbn, title, author, BigDecimal.TEN, 5);
+    }
+}
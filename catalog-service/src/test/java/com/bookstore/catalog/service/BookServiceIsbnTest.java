@@ -0,0 +1,69 @@
+package com.bookstore.catalog.service;
+
+import com.bookstore.catalog.data.entity.Book;
+import com.bookstore.catalog.data.mapper.BookMapperImpl;
+import com.bookstore.catalog.data.repository.BookRepository;
+import com.bookstore.catalog.dto.BookRequest;
+import com.bookstore.catalog.exception.IsbnAlreadyExistsException;
+import com.bookstore.catalog.messaging.publisher.BookEventPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({BookService.class, BookMapperImpl.class, IsbnBloomFilter.class, SimpleMeterRegistry.class})
+class BookServiceIsbnTest {
+    @Autowired private BookService bookService;
+    @Autowired private BookRepository bookRepository;
+    @Autowired private IsbnBloomFilter isbnBloomFilter;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean private BookEventPublisher bookEventPublisher;
+    @MockitoBean private BookCache bookCache;
+    @MockitoBean private BookSearchIndex bookSearchIndex;
+
+    @Test
+    void shouldRejectIsbnThatDiffersOnlyInCase() {
+        isbnBloomFilter.load();
+        bookService.create(request("0-306-40615-x"));
+
+        assertThatThrownBy(() -> bookService.create(request("0-306-40615-X")))
+                .isInstanceOf(IsbnAlreadyExistsException.class);
+    }
+
+    @Test
+    void shouldRejectDuplicateTheFilterHasNotSeen() {
+        isbnBloomFilter.load();
+        // As if another instance had just created it.
+        bookRepository.saveAndFlush(new Book(null, "0-306-40615-x", "Elsewhere", "Author", BigDecimal.TEN, 1));
+
+        assertThatThrownBy(() -> bookService.create(request("0-306-40615-X")))
+                .isInstanceOf(IsbnAlreadyExistsException.class);
+    }
+
+    @Test
+    void shouldBackfillNormalizedIsbnOfExistingRowsOnLoad() {
+        bookRepository.saveAndFlush(new Book(null, "0-306-40615-x", "Legacy", "Author", BigDecimal.TEN, 1));
+        jdbcTemplate.update("update books set isbn_normalized = null");
+
+        isbnBloomFilter.load();
+
+        assertThat(bookRepository.existsByIsbnNormalized("0-306-40615-X")).isTrue();
+        assertThat(isbnBloomFilter.mightContain("0-306-40615-X")).isTrue();
+    }
+
+    private static BookRequest request(String isbn) {
+        return new BookRequest(isbn, "Title", "Author", BigDecimal.TEN, 1);
+    }
+}
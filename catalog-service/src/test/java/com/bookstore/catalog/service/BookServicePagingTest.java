@@ -0,0 +1,116 @@
+package com.bookstore.catalog.service;
+
+import com.bookstore.catalog.data.entity.Book;
+import com.bookstore.catalog.data.mapper.BookMapperImpl;
+import com.bookstore.catalog.data.repository.BookRepository;
+import com.bookstore.catalog.dto.BookFilter;
+import com.bookstore.catalog.dto.BookPageResponse;
+import com.bookstore.catalog.dto.BookResponse;
+import com.bookstore.catalog.dto.BookSort;
+import com.bookstore.catalog.exception.InvalidRequestException;
+import com.bookstore.catalog.messaging.publisher.BookEventPublisher;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({BookService.class, BookMapperImpl.class})
+class BookServicePagingTest {
+    private static final BookFilter NO_FILTER = new BookFilter(null, null, null, false);
+
+    @Autowired private BookService bookService;
+    @Autowired private BookRepository bookRepository;
+
+    @MockitoBean private BookEventPublisher bookEventPublisher;
+    @MockitoBean private BookCache bookCache;
+    @MockitoBean private BookSearchIndex bookSearchIndex;
+    @MockitoBean private IsbnBloomFilter isbnBloomFilter;
+
+    @Test
+    void shouldWalkAllPagesByPriceWithTiesBrokenById() {
+        saveBook("A", "Asimov", "20.00", 1);
+        saveBook("B", "Herbert", "10.00", 1);
+        saveBook("C", "Asimov", "20.00", 0);
+        saveBook("D", "Le Guin", "15.00", 1);
+        saveBook("E", "Herbert", "20.00", 1);
+
+        List<String> titles = walk(NO_FILTER, BookSort.PRICE, Sort.Direction.ASC, 2);
+
+        assertThat(titles).containsExactly("B", "D", "A", "C", "E");
+    }
+
+    @Test
+    void shouldPageDescendingByTitle() {
+        for (String title : List.of("Dune", "Foundation", "Hyperion", "Solaris", "Neuromancer")) {
+            saveBook(title, "Author", "10.00", 1);
+        }
+
+        List<String> titles = walk(NO_FILTER, BookSort.TITLE, Sort.Direction.DESC, 2);
+
+        assertThat(titles).containsExactly("Solaris", "Neuromancer", "Hyperion", "Foundation", "Dune");
+    }
+
+    @Test
+    void shouldApplyAuthorPriceAndStockFilters() {
+        saveBook("Foundation", "Asimov", "20.00", 3);
+        saveBook("I, Robot", "Asimov", "12.00", 0);
+        saveBook("The Gods Themselves", "Asimov", "35.00", 2);
+        saveBook("Dune", "Herbert", "18.00", 5);
+
+        BookFilter filter = new BookFilter("Asimov", new BigDecimal("10"), new BigDecimal("30"), true);
+        List<String> titles = walk(filter, BookSort.ID, Sort.Direction.ASC, 10);
+
+        assertThat(titles).containsExactly("Foundation");
+    }
+
+    @Test
+    void shouldCapPageSize() {
+        for (int i = 0; i < BookService.MAX_PAGE_SIZE + 5; i++) {
+            saveBook("Title " + i, "Author", "10.00", 1);
+        }
+
+        BookPageResponse page = bookService.getPage(NO_FILTER, BookSort.ID, Sort.Direction.ASC, null, 10_000);
+
+        assertThat(page.content()).hasSize(BookService.MAX_PAGE_SIZE);
+        assertThat(page.nextCursor()).isNotNull();
+    }
+
+    @Test
+    void shouldRejectCursorIssuedForAnotherSort() {
+        saveBook("A", "Author", "10.00", 1);
+        saveBook("B", "Author", "10.00", 1);
+        String cursor = bookService.getPage(NO_FILTER, BookSort.TITLE, Sort.Direction.ASC, null, 1).nextCursor();
+
+        assertThatThrownBy(() -> bookService.getPage(NO_FILTER, BookSort.PRICE, Sort.Direction.ASC, cursor, 1))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> bookService.getPage(NO_FILTER, BookSort.TITLE, Sort.Direction.ASC, "%%%", 1))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    private List<String> walk(BookFilter filter, BookSort sort, Sort.Direction direction, int size) {
+        List<String> titles = new ArrayList<>();
+        String cursor = null;
+        do {
+            BookPageResponse page = bookService.getPage(filter, sort, direction, cursor, size);
+            page.content().stream().map(BookResponse::title).forEach(titles::add);
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return titles;
+    }
+
+    private void saveBook(String title, String author, String price, int stock) {
+        bookRepository.save(new Book(null, "ISBN-" + title, title, author, new BigDecimal(price), stock));
+    }
+}
@@ -5,7 +5,11 @@ import com.bookstore.catalog.data.mapper.BookMapper;
 import com.bookstore.catalog.data.repository.BookRepository;
 import com.bookstore.catalog.dto.BookRequest;
 import com.bookstore.catalog.dto.BookResponse;
+import com.bookstore.catalog.exception.InvalidRequestException;
 import com.bookstore.catalog.exception.IsbnAlreadyExistsException;
+import com.bookstore.catalog.messaging.event.BookDeletedEvent;
+import com.bookstore.catalog.messaging.event.BookUpdatedEvent;
+import com.bookstore.catalog.messaging.publisher.BookEventPublisher;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,10 +20,14 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -27,6 +35,10 @@ import static org.mockito.Mockito.when;
 public class BookServiceTest {
     @Mock private BookMapper bookMapper;
     @Mock private BookRepository bookRepository;
+    @Mock private BookEventPublisher bookEventPublisher;
+    @Mock private BookCache bookCache;
+    @Mock private BookSearchIndex bookSearchIndex;
+    @Mock private IsbnBloomFilter isbnBloomFilter;
 
     @InjectMocks
     private BookService bookService;
@@ -53,46 +65,94 @@ public class BookServiceTest {
 
     @Test
     void shouldCreateBookSuccessfully() {
-        when(bookRepository.findByIsbnIgnoreCase(bookRequest.isbn())).thenReturn(Optional.empty());
+        when(isbnBloomFilter.mightContain("978-85-333-0227-3")).thenReturn(true);
+        when(bookRepository.existsByIsbnNormalized("978-85-333-0227-3")).thenReturn(false);
         when(bookMapper.toEntity(bookRequest)).thenReturn(book);
-        when(bookRepository.save(book)).thenReturn(book);
+        when(bookRepository.saveAndFlush(book)).thenReturn(book);
         when(bookMapper.toResponse(any(Book.class))).thenReturn(bookResponse);
 
         BookResponse result = bookService.create(bookRequest);
 
         assertThat(result.id()).isEqualTo(1L);
-        verify(bookRepository).save(any(Book.class));
+        verify(bookRepository).saveAndFlush(any(Book.class));
+        verify(isbnBloomFilter).add("978-85-333-0227-3");
+        verify(bookSearchIndex).putAfterCommit(bookResponse);
+        verify(bookCache).evictAfterCommit(List.of(1L));
     }
 
     @Test
     void shouldThrowExceptionWhenIsbnAlreadyExists() {
-        when(bookRepository.findByIsbnIgnoreCase(bookRequest.isbn())).thenReturn(Optional.of(book));
+        when(isbnBloomFilter.mightContain("978-85-333-0227-3")).thenReturn(true);
+        when(bookRepository.existsByIsbnNormalized("978-85-333-0227-3")).thenReturn(true);
 
         assertThatThrownBy(() -> bookService.create(bookRequest)).isInstanceOf(IsbnAlreadyExistsException.class);
     }
 
     @Test
-    void shouldReturnAllBooksSuccessfully() {
-        when(bookRepository.findAll()).thenReturn(List.of(book));
+    void shouldSkipIsbnQueryWhenFilterRulesItOut() {
+        when(isbnBloomFilter.mightContain("978-85-333-0227-3")).thenReturn(false);
+        when(bookMapper.toEntity(bookRequest)).thenReturn(book);
+        when(bookRepository.saveAndFlush(book)).thenReturn(book);
+        when(bookMapper.toResponse(book)).thenReturn(bookResponse);
+
+        bookService.create(bookRequest);
+
+        verify(bookRepository, never()).existsByIsbnNormalized(any());
+    }
+
+    @Test
+    void shouldLoadBookThroughCache() {
+        when(bookCache.get(eq(1L), any())).thenAnswer(invocation ->
+                invocation.<Function<Long, BookResponse>>getArgument(1).apply(1L));
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
+        when(bookMapper.toResponse(book)).thenReturn(bookResponse);
+
+        assertThat(bookService.getById(1L)).isEqualTo(bookResponse);
+    }
+
+    @Test
+    void shouldReturnBooksByIdsWithSingleQuery() {
+        when(bookRepository.findByIdIn(List.of(1L, 2L))).thenReturn(List.of(book));
         when(bookMapper.toResponse(any(Book.class))).thenReturn(bookResponse);
 
-        List<BookResponse> result = bookService.getAll();
+        List<BookResponse> result = bookService.getByIds(List.of(1L, 2L));
+
+        assertThat(result).containsExactly(bookResponse);
+        verify(bookRepository).findByIdIn(List.of(1L, 2L));
+    }
+
+    @Test
+    void shouldRejectTooManyIds() {
+        List<Long> ids = LongStream.rangeClosed(1, BookService.MAX_BATCH_IDS + 1).boxed().toList();
 
-        assertThat(result).hasSize(1);
-        assertThat(result.getFirst().title()).isEqualTo("Clean Code");
+        assertThatThrownBy(() -> bookService.getByIds(ids)).isInstanceOf(InvalidRequestException.class);
     }
 
     @Test
     void shouldUpdateBookSuccessfully() {
         when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
-        when(bookRepository.findByIsbnIgnoreCase(bookRequest.isbn())).thenReturn(Optional.empty());
-        when(bookRepository.save(any(Book.class))).thenReturn(book);
+        when(bookRepository.saveAndFlush(any(Book.class))).thenReturn(book);
         when(bookMapper.toResponse(any(Book.class))).thenReturn(bookResponse);
 
         BookResponse updated = bookService.update(1L, bookRequest);
 
         assertThat(updated.isbn()).isEqualTo(bookRequest.isbn());
-        verify(bookRepository).save(any(Book.class));
+        verify(bookRepository).saveAndFlush(any(Book.class));
+        verify(bookRepository, never()).existsByIsbnNormalized(any());
+        verify(bookEventPublisher).publishBookUpdated(new BookUpdatedEvent(1L, book.getIsbn(), book.getPrice()));
+        verify(bookSearchIndex).putAfterCommit(bookResponse);
+        verify(bookCache).evictAfterCommit(List.of(1L));
+    }
+
+    @Test
+    void shouldRejectUpdateToIsbnOfAnotherBook() {
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
+        when(isbnBloomFilter.mightContain("978-0-13-235088-4")).thenReturn(true);
+        when(bookRepository.existsByIsbnNormalized("978-0-13-235088-4")).thenReturn(true);
+        BookRequest request = new BookRequest("978-0-13-235088-4", "Clean Code", "Robert C. Martin",
+                BigDecimal.TEN, 1);
+
+        assertThatThrownBy(() -> bookService.update(1L, request)).isInstanceOf(IsbnAlreadyExistsException.class);
     }
 
     @Test
@@ -102,5 +162,8 @@ public class BookServiceTest {
         bookService.delete(1L);
 
         verify(bookRepository).delete(book);
+        verify(bookEventPublisher).publishBookDeleted(new BookDeletedEvent(1L));
+        verify(bookSearchIndex).removeAfterCommit(1L);
+        verify(bookCache).evictAfterCommit(List.of(1L));
     }
 }
@@ -0,0 +1,77 @@
+package com.bookstore.catalog.service;
+
+import com.bookstore.catalog.data.repository.BookRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IsbnBloomFilterTest {
+    private static final int ISBNS = 10_000;
+
+    @Mock private BookRepository bookRepository;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private IsbnBloomFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new IsbnBloomFilter(bookRepository, transactionManager, meterRegistry, ISBNS, 0.01);
+    }
+
+    @Test
+    void shouldReportEveryIsbnAsPossibleUntilLoaded() {
+        assertThat(filter.mightContain("ISBN-1")).isTrue();
+        assertThat(meterRegistry.get("catalog.isbn-filter.checks").tag("result", "possible").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shouldNeverMissKnownIsbnsAndRarelyReportUnknownOnes() {
+        when(bookRepository.count()).thenReturn((long) ISBNS / 2);
+        when(bookRepository.streamNormalizedIsbns())
+                .thenReturn(IntStream.range(0, ISBNS / 2).mapToObj(IsbnBloomFilterTest::isbn));
+
+        filter.load();
+        IntStream.range(ISBNS / 2, ISBNS).mapToObj(IsbnBloomFilterTest::isbn).forEach(filter::add);
+
+        assertThat(IntStream.range(0, ISBNS).mapToObj(IsbnBloomFilterTest::isbn).allMatch(filter::mightContain))
+                .isTrue();
+        long falsePositives = IntStream.range(ISBNS, 2 * ISBNS).mapToObj(IsbnBloomFilterTest::isbn)
+                .filter(filter::mightContain)
+                .count();
+        assertThat(falsePositives).isLessThan(ISBNS * 3 / 100);
+        assertThat(meterRegistry.get("catalog.isbn-filter.checks").tag("result", "absent").counter().count())
+                .isEqualTo(ISBNS - falsePositives);
+    }
+
+    @Test
+    void shouldKeepIsbnsAddedWhileLoading() {
+        when(bookRepository.count()).thenReturn(1L);
+        when(bookRepository.streamNormalizedIsbns()).thenAnswer(invocation -> {
+            filter.add("978-0-13-235088-4");
+            return Stream.of("978-0-13-449416-6");
+        });
+
+        filter.load();
+
+        assertThat(filter.mightContain("978-0-13-235088-4")).isTrue();
+        assertThat(filter.mightContain("978-0-13-449416-6")).isTrue();
+    }
+
+    private static String isbn(int i) {
+        return String.format("978-%010d", i);
+    }
+}
@@ -0,0 +1,129 @@
+package com.bookstore.catalog.service;
+
+import com.bookstore.catalog.data.entity.Book;
+import com.bookstore.catalog.data.repository.BookRepository;
+import com.bookstore.catalog.data.repository.BookStockRepository;
+import com.bookstore.catalog.messaging.listener.OrderCreatedEvent;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({StockService.class, BookStockRepository.class})
+class StockServiceTest {
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockitoBean
+    private BookCache bookCache;
+
+    @Test
+    void shouldDecrementStockForWholeBatch() {
+        Book bestSeller = saveBook("HOT-1", 10);
+        Book other = saveBook("OTHER-1", 5);
+
+        stockService.applyOrders(List.of(
+                order(1L, item(bestSeller, 2), item(other, 1)),
+                order(2L, item(bestSeller, 3)),
+                order(3L, item(bestSeller, 1), item(bestSeller, 1))
+        ));
+
+        assertThat(stockOf(bestSeller)).isEqualTo(3);
+        assertThat(stockOf(other)).isEqualTo(4);
+        verify(bookCache).evictAfterCommit(Set.of(bestSeller.getId(), other.getId()));
+    }
+
+    @Test
+    void shouldFillEarlierOrdersFirstWhenStockRunsOut() {
+        Book book = saveBook("SCARCE-1", 4);
+
+        stockService.applyOrders(List.of(
+                order(1L, item(book, 3)),
+                order(2L, item(book, 2)),
+                order(3L, item(book, 1))
+        ));
+
+        assertThat(stockOf(book)).isZero();
+    }
+
+    @Test
+    void shouldNotApplyRedeliveredOrderTwice() {
+        Book book = saveBook("REDELIVERED-1", 10);
+        OrderCreatedEvent order = order(1L, item(book, 4));
+
+        stockService.applyOrders(List.of(order, order));
+        stockService.applyOrders(List.of(order));
+
+        assertThat(stockOf(book)).isEqualTo(6);
+    }
+
+    @Test
+    void shouldIgnoreUnknownBooks() {
+        Book book = saveBook("KNOWN-1", 2);
+
+        stockService.applyOrders(List.of(order(1L, item(book, 1), new OrderCreatedEvent.Item(-1L, 1))));
+
+        assertThat(stockOf(book)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReleaseOnlyReservedCopiesOfCancelledOrder() {
+        Book book = saveBook("CANCELLED-1", 4);
+        Book other = saveBook("CANCELLED-2", 5);
+
+        stockService.applyOrders(List.of(
+                order(1L, item(book, 3)),
+                order(2L, item(book, 2), item(other, 1))
+        ));
+        stockService.releaseOrder(2L);
+        stockService.releaseOrder(2L);
+
+        assertThat(stockOf(book)).isEqualTo(1);
+        assertThat(stockOf(other)).isEqualTo(5);
+    }
+
+    @Test
+    void shouldSkipOrderCancelledBeforeItsStockWasTaken() {
+        Book book = saveBook("EARLY-CANCEL-1", 10);
+
+        stockService.releaseOrder(1L);
+        stockService.applyOrders(List.of(order(1L, item(book, 4))));
+
+        assertThat(stockOf(book)).isEqualTo(10);
+    }
+
+    private Book saveBook(String isbn, int stock) {
+        return bookRepository.saveAndFlush(new Book(null, isbn, "Title", "Author", BigDecimal.TEN, stock));
+    }
+
+    private int stockOf(Book book) {
+        entityManager.clear();
+        return bookRepository.findById(book.getId()).orElseThrow().getStock();
+    }
+
+    private static OrderCreatedEvent order(Long orderId, OrderCreatedEvent.Item... items) {
+        return new OrderCreatedEvent(orderId, 7L, BigDecimal.TEN, List.of(items));
+    }
+
+    private static OrderCreatedEvent.Item item(Book book, int quantity) {
+        return new OrderCreatedEvent.Item(book.getId(), quantity);
+    }
+}
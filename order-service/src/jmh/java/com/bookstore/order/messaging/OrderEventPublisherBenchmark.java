@@ -0,0 +1,80 @@
+package com.bookstore.order.messaging;
+
+import com.bookstore.order.data.entity.OutboxEvent;
+import com.bookstore.order.messaging.publisher.OrderEventPublisher;
+import com.bookstore.order.messaging.publisher.OrderEventPublisher.PendingConfirm;
+import com.bookstore.order.messaging.publisher.PublishMode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+/**
+ * Events per second the outbox relay can hand to the broker in {@code individual} and {@code batched} publish
+ * mode. The broker is a stub that acks every frame at once after burning {@code frameCost} tokens of CPU, a
+ * stand-in for the per-frame work a real channel does; with {@code 0} only the client-side cost is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OperationsPerInvocation(OrderEventPublisherBenchmark.EVENTS)
+public class OrderEventPublisherBenchmark {
+    static final int EVENTS = 500;
+
+    @Param({"INDIVIDUAL", "BATCHED"})
+    PublishMode mode;
+
+    @Param({"0", "2000"})
+    long frameCost;
+
+    private OrderEventPublisher publisher;
+    private List<OutboxEvent> events;
+
+    @Setup
+    public void setUp() {
+        publisher = new OrderEventPublisher(new StubBrokerTemplate(frameCost), new SimpleMeterRegistry(), mode, 50, 65536);
+        events = LongStream.rangeClosed(1, EVENTS)
+                .mapToObj(id -> new OutboxEvent(id, id, "com.bookstore.order.messaging.event.OrderCreatedEvent",
+                        RabbitNames.ORDER_CREATED_ROUTING_KEY, "{\"orderId\":" + id + ",\"userId\":7,\"total\":39.80}",
+                        LocalDateTime.now(), null, 0, null))
+                .toList();
+    }
+
+    @Benchmark
+    public List<PendingConfirm> publishAll() {
+        return publisher.publishAll(events);
+    }
+
+    /** Acks every frame right away, like a broker would. */
+    private static class StubBrokerTemplate extends RabbitTemplate {
+        private final long frameCost;
+
+        StubBrokerTemplate(long frameCost) {
+            this.frameCost = frameCost;
+        }
+
+        @Override
+        public void send(String exchange, String routingKey, Message message, CorrelationData correlationData) {
+            Blackhole.consumeCPU(frameCost);
+            correlationData.getFuture().complete(new CorrelationData.Confirm(true, null));
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.bookstore.order.service;
+
+import com.bookstore.order.client.CatalogBookCache;
+import com.bookstore.order.client.CatalogClient;
+import com.bookstore.order.client.ConcurrentCatalogFetcher;
+import com.bookstore.order.data.entity.Order;
+import com.bookstore.order.data.entity.OrderItem;
+import com.bookstore.order.data.mapper.OrderItemMapperImpl;
+import com.bookstore.order.data.mapper.OrderMapperImpl;
+import com.bookstore.order.data.repository.OrderRepository;
+import com.bookstore.order.dto.CatalogBookResponse;
+import com.bookstore.order.dto.OrderItemRequest;
+import com.bookstore.order.dto.OrderRequest;
+import com.bookstore.order.dto.OrderResponse;
+import com.bookstore.order.messaging.outbox.OrderOutbox;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.amqp.RabbitAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * The order creation path against in-memory H2 with catalog-service stubbed out: item pricing and totalling
+ * on its own, and the full transactional {@link OrderService#create} including the order, item and outbox
+ * inserts. Run with {@code -prof gc} for {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderCreateBenchmark {
+    @Param({"3", "20"})
+    int items;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private JdbcTemplate jdbcTemplate;
+    private OrderRequest request;
+    private Map<Long, BigDecimal> prices;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = new SpringApplicationBuilder(BenchmarkApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.profiles.active=test",
+                        "--spring.datasource.url=jdbc:h2:mem:order_benchmark;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.jpa.show-sql=false",
+                        "--eureka.client.enabled=false",
+                        "--spring.cloud.discovery.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.bookstore=WARN",
+                        "--logging.file.name=");
+        orderService = context.getBean(OrderService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        request = new OrderRequest(7L, LongStream.rangeClosed(1, items)
+                .mapToObj(bookId -> new OrderItemRequest(bookId, 2))
+                .toList());
+        prices = LongStream.rangeClosed(1, items).boxed()
+                .collect(Collectors.toMap(Function.identity(), bookId -> new BigDecimal("19.90")));
+
+        MockHttpServletRequest httpRequest = new MockHttpServletRequest();
+        httpRequest.addHeader(HttpHeaders.AUTHORIZATION, "Bearer benchmark");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(httpRequest));
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearTables() {
+        jdbcTemplate.execute("TRUNCATE TABLE order_items");
+        jdbcTemplate.execute("TRUNCATE TABLE outbox_events");
+        jdbcTemplate.execute("TRUNCATE TABLE orders");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        RequestContextHolder.resetRequestAttributes();
+        context.close();
+    }
+
+    @Benchmark
+    public BigDecimal priceAndTotal() {
+        List<OrderItem> orderItems = orderService.priceItems(request, prices);
+        return OrderService.calculateTotal(orderItems);
+    }
+
+    @Benchmark
+    public OrderResponse create() {
+        return orderService.create(request);
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration(exclude = RabbitAutoConfiguration.class,
+            excludeName = "org.springframework.boot.devtools.autoconfigure.DevToolsDataSourceAutoConfiguration")
+    @EntityScan(basePackageClasses = Order.class)
+    @EnableJpaRepositories(basePackageClasses = OrderRepository.class)
+    @Import({OrderService.class, OrderOutbox.class, OrderMapperImpl.class, OrderItemMapperImpl.class,
+            UserOrderPageCache.class, CatalogBookCache.class, ConcurrentCatalogFetcher.class, OrderMetrics.class,
+            OrderArchive.class})
+    static class BenchmarkApplication {
+        @Bean
+        CatalogClient catalogClient() {
+            return new StubCatalogClient();
+        }
+
+        @Bean
+        RestTemplate restTemplate() {
+            return new RestTemplate();
+        }
+    }
+
+    /**
+     * Answers from memory, so the benchmark measures order-service rather than the network.
+     */
+    static class StubCatalogClient extends CatalogClient {
+        StubCatalogClient() {
+            super(null, null, "http://catalog-service");
+        }
+
+        @Override
+        public CatalogBookResponse getBookById(Long id, String authHeader) {
+            return new CatalogBookResponse(id, "Book " + id, new BigDecimal("19.90"));
+        }
+
+        @Override
+        public List<CatalogBookResponse> getBooksByIds(Collection<Long> ids, String authHeader) {
+            return ids.stream().map(id -> getBookById(id, authHeader)).toList();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.bookstore.order.service;
+
+import com.bookstore.order.data.entity.Order;
+import com.bookstore.order.data.entity.OrderItem;
+import com.bookstore.order.data.entity.OrderStatus;
+import com.bookstore.order.data.mapper.OrderItemMapper;
+import com.bookstore.order.data.mapper.OrderItemMapperImpl;
+import com.bookstore.order.data.mapper.OrderMapper;
+import com.bookstore.order.data.mapper.OrderMapperImpl;
+import com.bookstore.order.dto.OrderItemRequest;
+import com.bookstore.order.dto.OrderResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+/**
+ * CPU and allocation cost of the pure in-memory steps of order creation: MapStruct conversions,
+ * totalling and JSON serialization of the response. Run with {@code -prof gc} for {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderMappingBenchmark {
+    @Param({"3", "20"})
+    int items;
+
+    private final OrderMapper orderMapper = new OrderMapperImpl();
+    private final OrderItemMapper orderItemMapper = new OrderItemMapperImpl();
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private List<OrderItemRequest> itemRequests;
+    private Order order;
+    private List<OrderItem> orderItems;
+    private OrderResponse response;
+
+    @Setup
+    public void setUp() {
+        itemRequests = LongStream.rangeClosed(1, items).mapToObj(bookId -> new OrderItemRequest(bookId, 2)).toList();
+        orderItems = LongStream.rangeClosed(1, items)
+                .mapToObj(bookId -> new OrderItem(bookId, 1L, bookId, 2, new BigDecimal("19.90")))
+                .toList();
+        order = new Order(1L, 7L, OrderService.calculateTotal(orderItems), OrderStatus.PENDING, LocalDateTime.now(), false);
+        response = orderMapper.toResponse(order, orderItemMapper.toResponseList(orderItems));
+    }
+
+    @Benchmark
+    public List<OrderItem> itemRequestsToEntities() {
+        return itemRequests.stream().map(orderItemMapper::toEntity).toList();
+    }
+
+    @Benchmark
+    public BigDecimal calculateTotal() {
+        return OrderService.calculateTotal(orderItems);
+    }
+
+    @Benchmark
+    public OrderResponse orderToResponse() {
+        return orderMapper.toResponse(order, orderItemMapper.toResponseList(orderItems));
+    }
+
+    @Benchmark
+    public byte[] serializeResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
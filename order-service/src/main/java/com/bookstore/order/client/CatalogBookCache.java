@@ -0,0 +1,83 @@
+package com.bookstore.order.client;
+
+import com.bookstore.order.dto.CatalogBookResponse;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded, TTL-backed cache of catalog books in front of {@link CatalogClient}.
+ * Entries are evicted early when catalog-service broadcasts a book update or deletion;
+ * the TTL only bounds staleness if such an event is lost.
+ * <p>
+ * Misses are loaded through the async view, which parks a pending entry per book while the fetch runs. An
+ * eviction landing mid-fetch removes that entry, so the pre-update book goes back to the caller that asked
+ * for it but is never cached; concurrent readers of the same book wait for the one fetch.
+ */
+@Component
+public class CatalogBookCache {
+    static final String CACHE_NAME = "catalog.books";
+
+    private final CatalogClient catalogClient;
+    private final ConcurrentCatalogFetcher concurrentCatalogFetcher;
+    private final CatalogPricingMode pricingMode;
+    private final AsyncCache<Long, CatalogBookResponse> cache;
+    private final MeterRegistry meterRegistry;
+
+    public CatalogBookCache(CatalogClient catalogClient, ConcurrentCatalogFetcher concurrentCatalogFetcher,
+                            MeterRegistry meterRegistry,
+                            @Value("${catalog.pricing.mode:batch}") CatalogPricingMode pricingMode,
+                            @Value("${catalog.cache.max-size:10000}") long maxSize,
+                            @Value("${catalog.cache.ttl:10m}") Duration ttl) {
+        this.catalogClient = catalogClient;
+        this.concurrentCatalogFetcher = concurrentCatalogFetcher;
+        this.pricingMode = pricingMode;
+        this.meterRegistry = meterRegistry;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public List<CatalogBookResponse> getBooksByIds(Collection<Long> ids, String authHeader) {
+        CompletableFuture<Map<Long, CatalogBookResponse>> books = cache.getAll(ids, (missingIds, executor) ->
+                CompletableFuture.completedFuture(fetch(List.copyOf(missingIds), authHeader).stream()
+                        .collect(Collectors.toMap(CatalogBookResponse::id, Function.identity()))));
+        try {
+            return List.copyOf(books.join().values());
+        } catch (CompletionException e) {
+            // Another caller's fetch of the same book failed; surface its error unwrapped.
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private List<CatalogBookResponse> fetch(List<Long> ids, String authHeader) {
+        return switch (pricingMode) {
+            case BATCH -> catalogClient.getBooksByIds(ids, authHeader);
+            case PARALLEL -> concurrentCatalogFetcher.getBooksByIds(ids, authHeader);
+        };
+    }
+
+    public void evict(Long bookId, String reason) {
+        cache.synchronous().invalidate(bookId);
+        Counter.builder(CACHE_NAME + ".invalidations")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,175 @@
+package com.bookstore.order.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs each catalog request inside the bulkhead (caps concurrent calls) and the circuit breaker
+ * (fails fast while the catalog is unhealthy). With hedging enabled, a request still running after
+ * the observed p95 latency is issued a second time; the load-balanced client sends it to the next
+ * catalog instance and whichever answers first wins. The hedge takes a bulkhead permit of its own and is
+ * skipped when none is free; the losing request is interrupted once a winner is known.
+ */
+@Component
+public class CatalogCallGuard {
+    private static final double HEDGE_PERCENTILE = 0.95;
+
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final boolean hedgingEnabled;
+    private final Duration hedgeMinDelay;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Timer requestTimer;
+    private final Counter hedgesIssued;
+    private final Counter hedgesWon;
+    private final Counter hedgesSkipped;
+
+    public CatalogCallGuard(CircuitBreaker catalogCircuitBreaker, Bulkhead catalogBulkhead, MeterRegistry meterRegistry,
+                            @Value("${catalog.client.hedging.enabled:false}") boolean hedgingEnabled,
+                            @Value("${catalog.client.hedging.min-delay:50ms}") Duration hedgeMinDelay) {
+        this.circuitBreaker = catalogCircuitBreaker;
+        this.bulkhead = catalogBulkhead;
+        this.hedgingEnabled = hedgingEnabled;
+        this.hedgeMinDelay = hedgeMinDelay;
+        this.requestTimer = Timer.builder("catalog.client.requests")
+                .description("Latency of individual catalog-service requests, hedges included")
+                .publishPercentiles(HEDGE_PERCENTILE)
+                .register(meterRegistry);
+        this.hedgesIssued = Counter.builder("catalog.client.hedges").tag("outcome", "issued").register(meterRegistry);
+        this.hedgesWon = Counter.builder("catalog.client.hedges").tag("outcome", "won").register(meterRegistry);
+        this.hedgesSkipped = Counter.builder("catalog.client.hedges").tag("outcome", "skipped").register(meterRegistry);
+    }
+
+    /**
+     * @throws io.github.resilience4j.circuitbreaker.CallNotPermittedException while the circuit is open
+     * @throws io.github.resilience4j.bulkhead.BulkheadFullException when too many catalog calls are in flight
+     */
+    public <T> T call(Supplier<T> request) {
+        Supplier<T> timed = () -> requestTimer.record(request);
+        Supplier<T> attempt = hedgingEnabled ? () -> hedged(timed) : timed;
+        return Bulkhead.decorateSupplier(bulkhead, CircuitBreaker.decorateSupplier(circuitBreaker, attempt)).get();
+    }
+
+    private <T> T hedged(Supplier<T> request) {
+        CompletableFuture<T> primaryResult = new CompletableFuture<>();
+        Future<?> primary = executor.submit(() -> run(request, primaryResult));
+        try {
+            return primaryResult.get(hedgeDelay().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Still running: hedge below.
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        } catch (InterruptedException e) {
+            primary.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for catalog-service", e);
+        }
+
+        // The caller's permit covers the primary only; the hedge needs its own or is not sent at all.
+        if (!bulkhead.tryAcquirePermission()) {
+            hedgesSkipped.increment();
+            return await(primaryResult);
+        }
+        hedgesIssued.increment();
+        CompletableFuture<T> hedgeResult = new CompletableFuture<>();
+        Future<?> hedge = executor.submit(() -> {
+            try {
+                run(request, hedgeResult);
+            } finally {
+                bulkhead.onComplete();
+            }
+        });
+
+        CompletableFuture<T> firstSuccess = new CompletableFuture<>();
+        AtomicBoolean decided = new AtomicBoolean();
+        AtomicInteger failures = new AtomicInteger();
+        primaryResult.whenComplete((result, error) -> settle(firstSuccess, result, error, decided, failures));
+        hedgeResult.whenComplete((result, error) -> {
+            if (error == null && decided.compareAndSet(false, true)) {
+                // Count the win before releasing the caller.
+                hedgesWon.increment();
+                firstSuccess.complete(result);
+            } else {
+                settle(firstSuccess, result, error, decided, failures);
+            }
+        });
+
+        try {
+            return await(firstSuccess);
+        } finally {
+            // Interrupts the losing request so it stops holding a connection and, for the hedge, a permit.
+            primary.cancel(true);
+            hedge.cancel(true);
+        }
+    }
+
+    private static <T> void run(Supplier<T> request, CompletableFuture<T> result) {
+        try {
+            result.complete(request.get());
+        } catch (Throwable e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            throw rethrow(e.getCause());
+        }
+    }
+
+    private static <T> void settle(CompletableFuture<T> firstSuccess, T result, Throwable error,
+                                   AtomicBoolean decided, AtomicInteger failures) {
+        if (error == null) {
+            if (decided.compareAndSet(false, true)) {
+                firstSuccess.complete(result);
+            }
+        } else if (failures.incrementAndGet() == 2) {
+            firstSuccess.completeExceptionally(error instanceof CompletionException ? error.getCause() : error);
+        }
+    }
+
+    private Duration hedgeDelay() {
+        for (ValueAtPercentile percentile : requestTimer.takeSnapshot().percentileValues()) {
+            if (percentile.percentile() == HEDGE_PERCENTILE) {
+                long p95 = (long) percentile.value(TimeUnit.NANOSECONDS);
+                return p95 > hedgeMinDelay.toNanos() ? Duration.ofNanos(p95) : hedgeMinDelay;
+            }
+        }
+        return hedgeMinDelay;
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
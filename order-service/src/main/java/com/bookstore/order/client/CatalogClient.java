@@ -1,6 +1,10 @@
 package com.bookstore.order.client;
 
 import com.bookstore.order.dto.CatalogBookResponse;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -11,13 +15,26 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
 
 @Component
 public class CatalogClient {
+    static final int MAX_IDS_PER_REQUEST = 500;
+    private static final ParameterizedTypeReference<List<CatalogBookResponse>> BOOK_LIST =
+            new ParameterizedTypeReference<>() {};
+
     private final RestTemplate restTemplate;
+    private final CatalogCallGuard catalogCallGuard;
+    private final String baseUrl;
 
-    public CatalogClient(RestTemplate restTemplate) {
+    public CatalogClient(RestTemplate restTemplate, CatalogCallGuard catalogCallGuard,
+                         @Value("${catalog.client.base-url:http://catalog-service}") String baseUrl) {
         this.restTemplate = restTemplate;
+        this.catalogCallGuard = catalogCallGuard;
+        this.baseUrl = baseUrl;
     }
 
     public CatalogBookResponse getBookById(Long id, String authHeader) {
@@ -26,13 +43,13 @@ public class CatalogClient {
         HttpEntity<Void> entity = new HttpEntity<>(httpHeaders);
 
         try {
-            ResponseEntity<CatalogBookResponse> response = restTemplate.exchange(
-                    "http://catalog-service/books/{id}",
+            ResponseEntity<CatalogBookResponse> response = catalogCallGuard.call(() -> restTemplate.exchange(
+                    baseUrl + "/books/{id}",
                     HttpMethod.GET,
                     entity,
                     CatalogBookResponse.class,
                     id
-            );
+            ));
 
             if (response.getBody() == null) {
                 throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Book not found in catalog-service");
@@ -43,6 +60,47 @@ public class CatalogClient {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Book not found in catalog-service");
         } catch (HttpClientErrorException e) {
             throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Catalog-service error: " + e.getStatusCode());
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Catalog-service unavailable: " + e.getMessage());
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Error communicating with catalog-service", e);
+        }
+    }
+
+    /**
+     * Fetches several books with one request per {@value #MAX_IDS_PER_REQUEST} ids.
+     * Books unknown to the catalog are simply absent from the result.
+     */
+    public List<CatalogBookResponse> getBooksByIds(Collection<Long> ids, String authHeader) {
+        List<Long> distinctIds = ids.stream().distinct().toList();
+        List<CatalogBookResponse> books = new ArrayList<>(distinctIds.size());
+        for (int from = 0; from < distinctIds.size(); from += MAX_IDS_PER_REQUEST) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + MAX_IDS_PER_REQUEST, distinctIds.size()));
+            books.addAll(fetchChunk(chunk, authHeader));
+        }
+        return books;
+    }
+
+    private List<CatalogBookResponse> fetchChunk(List<Long> ids, String authHeader) {
+        HttpHeaders httpHeaders = new HttpHeaders();
+        httpHeaders.set(HttpHeaders.AUTHORIZATION, authHeader);
+        HttpEntity<Void> entity = new HttpEntity<>(httpHeaders);
+        String joinedIds = ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+
+        try {
+            ResponseEntity<List<CatalogBookResponse>> response = catalogCallGuard.call(() -> restTemplate.exchange(
+                    baseUrl + "/books?ids={ids}",
+                    HttpMethod.GET,
+                    entity,
+                    BOOK_LIST,
+                    joinedIds
+            ));
+
+            return response.getBody() == null ? List.of() : response.getBody();
+        } catch (HttpClientErrorException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Catalog-service error: " + e.getStatusCode());
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Catalog-service unavailable: " + e.getMessage());
         } catch (Exception e) {
             throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Error communicating with catalog-service", e);
         }
@@ -0,0 +1,8 @@
+package com.bookstore.order.client;
+
+public enum CatalogPricingMode {
+    /** One {@code GET /books?ids=...} call per order (default). */
+    BATCH,
+    /** One {@code GET /books/{id}} call per book, fanned out on virtual threads. */
+    PARALLEL
+}
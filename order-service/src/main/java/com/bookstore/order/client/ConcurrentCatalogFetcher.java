@@ -0,0 +1,106 @@
+package com.bookstore.order.client;
+
+import com.bookstore.order.dto.CatalogBookResponse;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Prices books with one {@code GET /books/{id}} per book, issued concurrently on virtual threads.
+ * Used when the catalog batch endpoint is not available.
+ * <p>
+ * Worker threads have no request context, so the caller resolves the Authorization header
+ * on the request thread and passes it in explicitly.
+ */
+@Component
+public class ConcurrentCatalogFetcher {
+    private final CatalogClient catalogClient;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final int maxConcurrency;
+    private final Duration deadline;
+
+    public ConcurrentCatalogFetcher(CatalogClient catalogClient,
+                                    @Value("${catalog.pricing.max-concurrency:8}") int maxConcurrency,
+                                    @Value("${catalog.pricing.deadline:5s}") Duration deadline) {
+        this.catalogClient = catalogClient;
+        this.maxConcurrency = maxConcurrency;
+        this.deadline = deadline;
+    }
+
+    public List<CatalogBookResponse> getBooksByIds(Collection<Long> ids, String authHeader) {
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+        Semaphore permits = new Semaphore(maxConcurrency);
+
+        List<Future<CatalogBookResponse>> futures = ids.stream().distinct()
+                .map(id -> executor.submit(() -> fetch(id, authHeader, permits, deadlineNanos)))
+                .toList();
+
+        try {
+            List<CatalogBookResponse> books = new ArrayList<>(futures.size());
+            for (Future<CatalogBookResponse> future : futures) {
+                CatalogBookResponse book = future.get(remainingNanos(deadlineNanos), TimeUnit.NANOSECONDS);
+                if (book != null) {
+                    books.add(book);
+                }
+            }
+            return books;
+        } catch (TimeoutException e) {
+            throw deadlineExceeded();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while pricing order items");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ResponseStatusException responseStatusException) {
+                throw responseStatusException;
+            }
+            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Error communicating with catalog-service", e.getCause());
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private CatalogBookResponse fetch(Long id, String authHeader, Semaphore permits, long deadlineNanos)
+            throws InterruptedException {
+        if (!permits.tryAcquire(remainingNanos(deadlineNanos), TimeUnit.NANOSECONDS)) {
+            throw deadlineExceeded();
+        }
+        try {
+            return catalogClient.getBookById(id, authHeader);
+        } catch (ResponseStatusException e) {
+            if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
+                return null;
+            }
+            throw e;
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static long remainingNanos(long deadlineNanos) {
+        return Math.max(0, deadlineNanos - System.nanoTime());
+    }
+
+    private ResponseStatusException deadlineExceeded() {
+        return new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT,
+                "Catalog-service did not price the order within " + deadline.toMillis() + " ms");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,62 @@
+package com.bookstore.order.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+
+/**
+ * Circuit breaker and bulkhead guarding calls to catalog-service. Both publish
+ * {@code resilience4j.circuitbreaker.*} / {@code resilience4j.bulkhead.*} metrics tagged {@code name=catalog-service}.
+ */
+@Configuration
+public class CatalogResilienceConfig {
+    public static final String CATALOG = "catalog-service";
+
+    @Bean
+    public CircuitBreaker catalogCircuitBreaker(
+            MeterRegistry meterRegistry,
+            @Value("${catalog.client.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${catalog.client.circuit-breaker.slow-call-duration:2s}") Duration slowCallDuration,
+            @Value("${catalog.client.circuit-breaker.sliding-window-size:20}") int slidingWindowSize,
+            @Value("${catalog.client.circuit-breaker.minimum-number-of-calls:10}") int minimumNumberOfCalls,
+            @Value("${catalog.client.circuit-breaker.wait-in-open-state:10s}") Duration waitInOpenState) {
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(slowCallDuration)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumNumberOfCalls)
+                .waitDurationInOpenState(waitInOpenState)
+                // A 4xx is the caller's problem, not a sign that the catalog is unhealthy.
+                .ignoreExceptions(HttpClientErrorException.class)
+                .build();
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry.circuitBreaker(CATALOG);
+    }
+
+    @Bean
+    public Bulkhead catalogBulkhead(
+            MeterRegistry meterRegistry,
+            @Value("${catalog.client.bulkhead.max-concurrent-calls:25}") int maxConcurrentCalls,
+            @Value("${catalog.client.bulkhead.max-wait:0ms}") Duration maxWait) {
+        BulkheadConfig config = BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(maxWait)
+                .build();
+        BulkheadRegistry registry = BulkheadRegistry.of(config);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry.bulkhead(CATALOG);
+    }
+}
@@ -1,7 +1,8 @@
 package com.bookstore.order.config;
 
 import com.bookstore.order.messaging.RabbitNames;
-import org.springframework.amqp.core.AmqpTemplate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.AnonymousQueue;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
 import org.springframework.amqp.core.Queue;
@@ -13,6 +14,7 @@ import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+@Slf4j
 @Configuration
 public class RabbitConfig {
     @Bean
@@ -33,15 +35,71 @@ public class RabbitConfig {
                 .with(RabbitNames.ORDER_CREATED_ROUTING_KEY);
     }
 
+    @Bean
+    public Queue orderCancelledQueue() {
+        return new Queue(RabbitNames.ORDER_CANCELLED_QUEUE, true);
+    }
+
+    @Bean
+    public Binding orderCancelledBinding(Queue orderCancelledQueue, TopicExchange orderExchange) {
+        return BindingBuilder
+                .bind(orderCancelledQueue)
+                .to(orderExchange)
+                .with(RabbitNames.ORDER_CANCELLED_ROUTING_KEY);
+    }
+
+    @Bean
+    public TopicExchange bookExchange() {
+        return new TopicExchange(RabbitNames.BOOK_EXCHANGE);
+    }
+
+    // Every instance keeps its own price cache, so each one needs its own auto-deleted queue.
+    @Bean
+    public Queue bookUpdatedQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Queue bookDeletedQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding bookUpdatedBinding(Queue bookUpdatedQueue, TopicExchange bookExchange) {
+        return BindingBuilder
+                .bind(bookUpdatedQueue)
+                .to(bookExchange)
+                .with(RabbitNames.BOOK_UPDATED_ROUTING_KEY);
+    }
+
+    @Bean
+    public Binding bookDeletedBinding(Queue bookDeletedQueue, TopicExchange bookExchange) {
+        return BindingBuilder
+                .bind(bookDeletedQueue)
+                .to(bookExchange)
+                .with(RabbitNames.BOOK_DELETED_ROUTING_KEY);
+    }
+
     @Bean
     public MessageConverter jsonMessageConverter() {
         return new Jackson2JsonMessageConverter();
     }
 
+    // Declared as a RabbitTemplate so Boot's auto-configured template backs off and publishers get this one.
     @Bean
-    public AmqpTemplate amqpTemplate(ConnectionFactory connectionFactory) {
+    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
         RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
         rabbitTemplate.setMessageConverter(jsonMessageConverter());
+        // Publish on a separate connection so a blocked publisher never stalls the consumers.
+        rabbitTemplate.setUsePublisherConnection(true);
+        rabbitTemplate.setMandatory(true);
+        rabbitTemplate.setConfirmCallback((correlationData, ack, cause) -> {
+            if (!ack) {
+                log.warn("Broker nacked message {}: {}", correlationData != null ? correlationData.getId() : null, cause);
+            }
+        });
+        rabbitTemplate.setReturnsCallback(returned -> log.warn("Message returned by broker ({} {}): {}",
+                returned.getReplyCode(), returned.getReplyText(), returned.getRoutingKey()));
         return rabbitTemplate;
     }
 }
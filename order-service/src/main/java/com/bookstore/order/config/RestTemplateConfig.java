@@ -1,15 +1,92 @@
 package com.bookstore.order.config;
 
+import com.bookstore.order.client.MeteredConnectionManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+
 @Configuration
 public class  RestTemplateConfig {
     @Bean
     @LoadBalanced
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(RestTemplateBuilder builder, ClientHttpRequestFactory catalogRequestFactory) {
+        return builder
+                .requestFactory(() -> catalogRequestFactory)
+                .build();
+    }
+
+    /**
+     * Uses the pooled keep-alive client unless {@code catalog.client.http2} is set, in which case the JDK client
+     * multiplexes requests over HTTP/2 connections instead (it manages its own connections, so no pool metrics).
+     */
+    @Bean
+    public ClientHttpRequestFactory catalogRequestFactory(ObjectProvider<CloseableHttpClient> catalogHttpClient,
+                                                          @Value("${catalog.client.connect-timeout:1s}") Duration connectTimeout,
+                                                          @Value("${catalog.client.read-timeout:2s}") Duration readTimeout) {
+        CloseableHttpClient pooledClient = catalogHttpClient.getIfAvailable();
+        if (pooledClient != null) {
+            return new HttpComponentsClientHttpRequestFactory(pooledClient);
+        }
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .build());
+        requestFactory.setReadTimeout(readTimeout);
+        return requestFactory;
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "catalog.client.http2", havingValue = "false", matchIfMissing = true)
+    public CloseableHttpClient catalogHttpClient(MeterRegistry meterRegistry,
+                                                 @Value("${catalog.client.connect-timeout:1s}") Duration connectTimeout,
+                                                 @Value("${catalog.client.read-timeout:2s}") Duration readTimeout,
+                                                 @Value("${catalog.client.pool.max-total:100}") int maxTotal,
+                                                 @Value("${catalog.client.pool.max-per-route:50}") int maxPerRoute,
+                                                 @Value("${catalog.client.pool.lease-timeout:500ms}") Duration leaseTimeout,
+                                                 @Value("${catalog.client.pool.keep-alive:30s}") Duration keepAlive,
+                                                 @Value("${catalog.client.pool.idle-timeout:30s}") Duration idleTimeout) {
+        PoolingHttpClientConnectionManager pool = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+        new PoolingHttpClientConnectionManagerMetricsBinder(pool, "catalog-service").bindTo(meterRegistry);
+
+        return HttpClients.custom()
+                .setConnectionManager(new MeteredConnectionManager(pool, meterRegistry))
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(leaseTimeout))
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        // Used by the default keep-alive strategy when the server sends no Keep-Alive header.
+                        .setConnectionKeepAlive(TimeValue.of(keepAlive))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleTimeout))
+                .build();
     }
 }
@@ -1,65 +1,174 @@
 package com.bookstore.order.controller;
 
+import com.bookstore.order.dto.BatchOrderRequest;
+import com.bookstore.order.dto.BatchOrderResponse;
+import com.bookstore.order.dto.BulkCancelRequest;
+import com.bookstore.order.dto.BulkCancelResponse;
+import com.bookstore.order.dto.OrderPageResponse;
 import com.bookstore.order.dto.OrderRequest;
 import com.bookstore.order.dto.OrderResponse;
+import com.bookstore.order.dto.OrderStatusResponse;
+import com.bookstore.order.service.AsyncOrderIntake;
+import com.bookstore.order.service.IdempotentOrderService;
+import com.bookstore.order.service.OrderReadService;
 import com.bookstore.order.service.OrderService;
 import io.swagger.v3.oas.annotations.Operation;
-import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
-import java.util.List;
+import java.net.URI;
+import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping("/orders")
 @Tag(name = "Orders", description = "Endpoints for managing book orders.")
 public class OrderController {
     private final OrderService orderService;
+    private final OrderReadService orderReadService;
+    private final IdempotentOrderService idempotentOrderService;
+    private final AsyncOrderIntake asyncOrderIntake;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, OrderReadService orderReadService,
+                           IdempotentOrderService idempotentOrderService, AsyncOrderIntake asyncOrderIntake) {
         this.orderService = orderService;
+        this.orderReadService = orderReadService;
+        this.idempotentOrderService = idempotentOrderService;
+        this.asyncOrderIntake = asyncOrderIntake;
     }
 
     @Operation(
         summary = "Create a new order",
-        description = "Registers a new book order for a given user, fetching book prices from the catalog-service.",
+        description = "Registers a new book order for a given user, fetching book prices from the catalog-service. "
+                + "Retries carrying the same Idempotency-Key return the originally created order.",
         responses = {
                 @ApiResponse(responseCode = "201", description = "Order created successfully",
                         content = @Content(schema = @Schema(implementation = OrderResponse.class))),
                 @ApiResponse(responseCode = "400", description = "Invalid input data"),
+                @ApiResponse(responseCode = "422", description = "Idempotency-Key reused with a different request"),
                 @ApiResponse(responseCode = "500", description = "Unexpected server error")
         }
     )
     @PostMapping()
-    public ResponseEntity<OrderResponse> create(@Valid @RequestBody OrderRequest orderRequest) {
-        OrderResponse orderResponse = orderService.create(orderRequest);
+    public ResponseEntity<OrderResponse> create(
+            @Parameter(description = "Client-chosen key that makes retries of this request safe")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @Valid @RequestBody OrderRequest orderRequest) {
+        OrderResponse orderResponse = idempotentOrderService.create(idempotencyKey, orderRequest);
         return ResponseEntity.status(HttpStatus.CREATED).body(orderResponse);
     }
 
+    @Operation(
+        summary = "Create orders in bulk",
+        description = "Creates up to " + BatchOrderRequest.MAX_ORDERS + " orders at once, pricing all their books with "
+                + "a single catalog lookup. Each order is reported as created or failed; one bad order does not "
+                + "reject the others.",
+        responses = {
+                @ApiResponse(responseCode = "200", description = "Per-order results",
+                        content = @Content(schema = @Schema(implementation = BatchOrderResponse.class))),
+                @ApiResponse(responseCode = "400", description = "Empty or oversized batch"),
+                @ApiResponse(responseCode = "500", description = "Unexpected server error")
+        }
+    )
+    @PostMapping("/batch")
+    public ResponseEntity<BatchOrderResponse> createBatch(@Valid @RequestBody BatchOrderRequest batchOrderRequest) {
+        return ResponseEntity.ok(orderService.createBatch(batchOrderRequest.orders()));
+    }
+
+    @Operation(
+        summary = "Create an order asynchronously",
+        description = "Persists a PENDING order and prices it in the background. Poll the returned status URL "
+                + "until the order is CONFIRMED or FAILED.",
+        responses = {
+                @ApiResponse(responseCode = "202", description = "Order accepted for processing",
+                        content = @Content(schema = @Schema(implementation = OrderStatusResponse.class))),
+                @ApiResponse(responseCode = "400", description = "Invalid input data"),
+                @ApiResponse(responseCode = "429", description = "Intake queue is full, retry later"),
+                @ApiResponse(responseCode = "500", description = "Unexpected server error")
+        }
+    )
+    @PostMapping("/async")
+    public ResponseEntity<OrderStatusResponse> createAsync(@Valid @RequestBody OrderRequest orderRequest) {
+        OrderStatusResponse status = asyncOrderIntake.submit(orderRequest);
+        URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/orders/{id}/status")
+                .buildAndExpand(status.id())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(status);
+    }
+
     @Operation(
         summary = "Get all orders",
-        description = "Retrieves all orders.",
+        description = "Retrieves orders newest first, one page at a time. Pass the returned nextCursor to get the following page.",
         responses = {
-                @ApiResponse(responseCode = "200", description = "List of all orders",
-                        content = @Content(array = @ArraySchema(schema = @Schema(implementation = OrderResponse.class)))),
+                @ApiResponse(responseCode = "200", description = "Page of orders",
+                        content = @Content(schema = @Schema(implementation = OrderPageResponse.class))),
+                @ApiResponse(responseCode = "400", description = "Invalid cursor"),
                 @ApiResponse(responseCode = "500", description = "Unexpected server error")
         }
     )
     @GetMapping
-    public ResponseEntity<List<OrderResponse>> getAll() {
-        return ResponseEntity.ok(orderService.getAll());
+    public ResponseEntity<OrderPageResponse> getAll(
+            @Parameter(description = "Cursor returned by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(orderReadService.getPage(cursor, size));
+    }
+
+    @Operation(
+        summary = "Get orders of a user",
+        description = "Retrieves a user's orders newest first, one page at a time. Pass the returned nextCursor to get the following page.",
+        responses = {
+                @ApiResponse(responseCode = "200", description = "Page of the user's orders",
+                        content = @Content(schema = @Schema(implementation = OrderPageResponse.class))),
+                @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+                @ApiResponse(responseCode = "500", description = "Unexpected server error")
+        }
+    )
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<OrderPageResponse> getByUser(
+            @PathVariable Long userId,
+            @Parameter(description = "Cursor returned by the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 100)") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(orderReadService.getUserPage(userId, cursor, size));
+    }
+
+    @Operation(
+        summary = "Export orders",
+        description = "Streams matching orders, with their items, as newline-delimited JSON ordered by ID.",
+        responses = {
+                @ApiResponse(responseCode = "200", description = "One JSON order per line",
+                        content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                schema = @Schema(implementation = OrderResponse.class))),
+                @ApiResponse(responseCode = "500", description = "Unexpected server error")
+        }
+    )
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export(
+            @Parameter(description = "Only orders created at or after this instant")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @Parameter(description = "Only orders created before this instant")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime until,
+            @Parameter(description = "Only orders of this user") @RequestParam(required = false) Long userId) {
+        StreamingResponseBody body = out -> orderReadService.export(since, until, userId, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @Operation(
@@ -73,15 +182,30 @@ public class OrderController {
     )
     @GetMapping("/{id}")
     public ResponseEntity<OrderResponse> getById(@PathVariable Long id) {
-        return ResponseEntity.ok(orderService.getById(id));
+        return ResponseEntity.ok(orderReadService.getById(id));
+    }
+
+    @Operation(
+        summary = "Get order status",
+        description = "Retrieves the processing status of an order, e.g. one accepted by POST /orders/async.",
+        responses = {
+                @ApiResponse(responseCode = "200", description = "Order status",
+                        content = @Content(schema = @Schema(implementation = OrderStatusResponse.class))),
+                @ApiResponse(responseCode = "404", description = "Order not found")
+        }
+    )
+    @GetMapping("/{id}/status")
+    public ResponseEntity<OrderStatusResponse> getStatus(@PathVariable Long id) {
+        return ResponseEntity.ok(orderService.getStatus(id));
     }
 
     @Operation(
             summary = "Cancel an order",
-            description = "Cancels an order by updating its status to CANCELLED.",
+            description = "Cancels a PENDING or CONFIRMED order by updating its status to CANCELLED.",
             responses = {
                     @ApiResponse(responseCode = "204", description = "Order cancelled successfully"),
-                    @ApiResponse(responseCode = "404", description = "Order not found")
+                    @ApiResponse(responseCode = "404", description = "Order not found"),
+                    @ApiResponse(responseCode = "409", description = "Order can no longer be cancelled")
             }
     )
     @PatchMapping("/{id}/cancel")
@@ -89,4 +213,19 @@ public class OrderController {
         orderService.cancel(id);
         return ResponseEntity.noContent().build();
     }
+
+    @Operation(
+            summary = "Cancel orders in bulk",
+            description = "Cancels every PENDING or CONFIRMED order of a user, or the cancellable orders among the "
+                    + "given IDs. Orders that can no longer be cancelled are skipped.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Orders cancelled",
+                            content = @Content(schema = @Schema(implementation = BulkCancelResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Neither or both of userId and orderIds given")
+            }
+    )
+    @PostMapping("/cancel")
+    public ResponseEntity<BulkCancelResponse> cancelAll(@Valid @RequestBody BulkCancelRequest bulkCancelRequest) {
+        return ResponseEntity.ok(orderService.cancelAll(bulkCancelRequest));
+    }
 }
@@ -0,0 +1,51 @@
+package com.bookstore.order.data.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Cold storage for orders moved out of {@code orders} and {@code order_items} by {@code OrderArchiver}.
+ * Each row holds the whole order, items included, as gzip-compressed JSON.
+ */
+@Entity
+@Table(name = "order_archive", indexes = {
+        @Index(name = "idx_order_archive_month", columnList = "archive_month"),
+        @Index(name = "idx_order_archive_user_id", columnList = "user_id")
+})
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ArchivedOrder {
+    @Id
+    Long id;
+
+    @Column(nullable = false)
+    Long userId;
+
+    @Column(nullable = false)
+    LocalDateTime createdAt;
+
+    /** First day of the month the order was created in; orders are archived one whole month at a time. */
+    @Column(nullable = false)
+    LocalDate archiveMonth;
+
+    @Column(nullable = false)
+    LocalDateTime archivedAt;
+
+    @Column(nullable = false, length = 1048576)
+    byte[] payload;
+}
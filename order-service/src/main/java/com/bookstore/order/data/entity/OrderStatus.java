@@ -2,6 +2,8 @@ package com.bookstore.order.data.entity;
 
 public enum OrderStatus {
     PENDING,
+    CONFIRMED,
     COMPLETED,
-    CANCELLED
+    CANCELLED,
+    FAILED
 }
@@ -0,0 +1,53 @@
+package com.bookstore.order.data.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Denormalized read model: one row per order with its items serialized as JSON.
+ * Written only by {@code OrderViewProjector}; {@code orders} and {@code order_items} stay the source of truth.
+ */
+@Entity
+@Table(name = "order_view", indexes = {
+        @Index(name = "idx_order_view_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_order_view_user_id_created_at", columnList = "user_id, created_at, id")
+})
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class OrderView {
+    @Id
+    Long id;
+
+    @Column(nullable = false)
+    Long userId;
+
+    @Column(nullable = false)
+    BigDecimal total;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    OrderStatus orderStatus;
+
+    @Column(nullable = false)
+    LocalDateTime createdAt;
+
+    @Column(nullable = false, length = 65535)
+    String itemsJson;
+}
@@ -0,0 +1,61 @@
+package com.bookstore.order.data.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "outbox_events", indexes = @Index(name = "idx_outbox_events_sent_at_parked_at_id", columnList = "sent_at, parked_at, id"))
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+    @SequenceGenerator(name = "outbox_events_seq", sequenceName = "outbox_events_seq", allocationSize = 50)
+    Long id;
+
+    @Column(nullable = false)
+    Long aggregateId;
+
+    @Column(nullable = false)
+    String eventType;
+
+    @Column(nullable = false)
+    String routingKey;
+
+    @Column(nullable = false, length = 16000)
+    String payload;
+
+    @Column(nullable = false)
+    LocalDateTime createdAt = LocalDateTime.now();
+
+    LocalDateTime sentAt;
+
+    /** Publishes the broker returned as unroutable. */
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    int attempts;
+
+    /**
+     * Set once the event has been returned {@code order.outbox.max-attempts} times; the relay skips it from then on.
+     * Clearing it puts the event back in line, e.g. after the missing binding has been declared.
+     */
+    LocalDateTime parkedAt;
+}
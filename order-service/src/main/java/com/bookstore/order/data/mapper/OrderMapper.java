@@ -15,6 +15,7 @@ public interface OrderMapper {
     @Mapping(target = "total", ignore = true)
     @Mapping(target = "orderStatus", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "awaitingPricing", ignore = true)
     Order toEntity(OrderRequest orderRequest);
 
     @Mapping(target = "items", ignore = true)
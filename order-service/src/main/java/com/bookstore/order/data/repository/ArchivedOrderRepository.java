@@ -0,0 +1,12 @@
+package com.bookstore.order.data.repository;
+
+import com.bookstore.order.data.entity.ArchivedOrder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, Long> {
+    @Query("select a.payload from ArchivedOrder a where a.id = :id")
+    Optional<byte[]> findPayloadById(Long id);
+}
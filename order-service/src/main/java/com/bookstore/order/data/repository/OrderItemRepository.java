@@ -1,10 +1,37 @@
 package com.bookstore.order.data.repository;
 
 import com.bookstore.order.data.entity.OrderItem;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     List<OrderItem> findByOrderId(Long orderId);
+
+    List<OrderItem> findByOrderIdIn(Collection<Long> orderIds);
+
+    @Modifying
+    @Query("delete from OrderItem i where i.orderId in :orderIds")
+    int deleteByOrderIdIn(Collection<Long> orderIds);
+
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select i from OrderItem i join Order o on o.id = i.orderId
+            where (:since is null or o.createdAt >= :since)
+              and (:until is null or o.createdAt < :until)
+              and (:userId is null or o.userId = :userId)
+            order by i.orderId, i.id
+            """)
+    Stream<OrderItem> streamForExport(LocalDateTime since, LocalDateTime until, Long userId);
 }
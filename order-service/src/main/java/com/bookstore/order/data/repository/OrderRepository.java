@@ -1,10 +1,110 @@
 package com.bookstore.order.data.repository;
 
 import com.bookstore.order.data.entity.Order;
+import com.bookstore.order.data.entity.OrderStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByUserId(Long userId);
+
+    @Query("select o from Order o order by o.createdAt desc, o.id desc")
+    List<Order> findNewest(Limit limit);
+
+    @Query("""
+            select o from Order o
+            where o.createdAt < :createdAt or (o.createdAt = :createdAt and o.id < :id)
+            order by o.createdAt desc, o.id desc
+            """)
+    List<Order> findNewestBefore(LocalDateTime createdAt, Long id, Limit limit);
+
+    @Query("select o from Order o where o.userId = :userId order by o.createdAt desc, o.id desc")
+    List<Order> findNewestByUser(Long userId, Limit limit);
+
+    @Query("""
+            select o from Order o
+            where o.userId = :userId
+              and (o.createdAt < :createdAt or (o.createdAt = :createdAt and o.id < :id))
+            order by o.createdAt desc, o.id desc
+            """)
+    List<Order> findNewestByUserBefore(Long userId, LocalDateTime createdAt, Long id, Limit limit);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o from Order o where o.id = :id")
+    Optional<Order> lockById(Long id);
+
+    @Query("select o from Order o where o.id > :id order by o.id")
+    List<Order> findChunkAfter(Long id, Limit limit);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o from Order o where o.createdAt < :before order by o.id")
+    List<Order> lockChunkCreatedBefore(LocalDateTime before, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select o from Order o
+            where (:since is null or o.createdAt >= :since)
+              and (:until is null or o.createdAt < :until)
+              and (:userId is null or o.userId = :userId)
+            order by o.id
+            """)
+    Stream<Order> streamForExport(LocalDateTime since, LocalDateTime until, Long userId);
+
+    /**
+     * Moves an order to {@code to} only if it is currently in one of {@code from}, in a single statement.
+     * Returns 1 if the transition applied, 0 if the order is missing or in another state.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Order o set o.orderStatus = :to where o.id = :id and o.orderStatus in :from")
+    int transition(Long id, Collection<OrderStatus> from, OrderStatus to);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update Order o
+            set o.orderStatus = com.bookstore.order.data.entity.OrderStatus.CONFIRMED, o.total = :total,
+                o.awaitingPricing = false
+            where o.id = :id and o.orderStatus = com.bookstore.order.data.entity.OrderStatus.PENDING
+            """)
+    int confirm(Long id, BigDecimal total);
+
+    @Query("""
+            select o.id from Order o
+            where o.awaitingPricing = true and o.createdAt < :before
+              and o.orderStatus = com.bookstore.order.data.entity.OrderStatus.PENDING
+            order by o.id
+            """)
+    List<Long> findAwaitingPricingBefore(LocalDateTime before, Limit limit);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o from Order o where o.userId = :userId and o.orderStatus in :from order by o.id")
+    List<Order> lockByUserAndStatus(Long userId, Collection<OrderStatus> from);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o from Order o where o.id in :ids and o.orderStatus in :from order by o.id")
+    List<Order> lockByIdsAndStatus(Collection<Long> ids, Collection<OrderStatus> from);
+
+    /**
+     * Bulk form of {@link #transition}: moves every given order that is still in one of {@code from} to {@code to}
+     * and returns how many were moved.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Order o set o.orderStatus = :to where o.id in :ids and o.orderStatus in :from")
+    int transitionAll(Collection<Long> ids, Collection<OrderStatus> from, OrderStatus to);
 }
@@ -0,0 +1,73 @@
+package com.bookstore.order.data.repository;
+
+import com.bookstore.order.data.entity.OrderView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface OrderViewRepository extends JpaRepository<OrderView, Long> {
+    String ROW = "select new com.bookstore.order.data.repository.OrderViewRow("
+            + "v.id, v.userId, v.total, v.orderStatus, v.createdAt, v.itemsJson) from OrderView v ";
+
+    @Query(ROW + "where v.id = :id")
+    Optional<OrderViewRow> findRowById(Long id);
+
+    @Query(ROW + "order by v.createdAt desc, v.id desc")
+    List<OrderViewRow> findNewest(Limit limit);
+
+    @Query(ROW + """
+            where v.createdAt < :createdAt or (v.createdAt = :createdAt and v.id < :id)
+            order by v.createdAt desc, v.id desc
+            """)
+    List<OrderViewRow> findNewestBefore(LocalDateTime createdAt, Long id, Limit limit);
+
+    @Query(ROW + "where v.userId = :userId order by v.createdAt desc, v.id desc")
+    List<OrderViewRow> findNewestByUser(Long userId, Limit limit);
+
+    @Query(ROW + """
+            where v.userId = :userId
+              and (v.createdAt < :createdAt or (v.createdAt = :createdAt and v.id < :id))
+            order by v.createdAt desc, v.id desc
+            """)
+    List<OrderViewRow> findNewestByUserBefore(Long userId, LocalDateTime createdAt, Long id, Limit limit);
+
+    /**
+     * Orders after {@code id} whose view row is missing or disagrees on status or total. Items only change
+     * together with those (prices are set on confirmation), so this catches every lost projection.
+     */
+    @Query("""
+            select o.id from Order o
+            where o.id > :id
+              and not exists (select 1 from OrderView v
+                              where v.id = o.id and v.orderStatus = o.orderStatus and v.total = o.total)
+            order by o.id
+            """)
+    List<Long> findStaleAfter(Long id, Limit limit);
+
+    @Query("""
+            select v.id from OrderView v
+            where v.id > :id and not exists (select 1 from Order o where o.id = v.id)
+            order by v.id
+            """)
+    List<Long> findOrphanedAfter(Long id, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(ROW + """
+            where (:since is null or v.createdAt >= :since)
+              and (:until is null or v.createdAt < :until)
+              and (:userId is null or v.userId = :userId)
+            order by v.id
+            """)
+    Stream<OrderViewRow> streamForExport(LocalDateTime since, LocalDateTime until, Long userId);
+}
@@ -0,0 +1,19 @@
+package com.bookstore.order.data.repository;
+
+import com.bookstore.order.data.entity.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Constructor projection of {@code order_view}, so reads never hydrate managed entities.
+ */
+public record OrderViewRow(
+        Long id,
+        Long userId,
+        BigDecimal total,
+        OrderStatus orderStatus,
+        LocalDateTime createdAt,
+        String itemsJson
+) {
+}
@@ -0,0 +1,46 @@
+package com.bookstore.order.data.repository;
+
+import com.bookstore.order.data.entity.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    // A lock timeout of -2 renders as FOR UPDATE SKIP LOCKED, so concurrent relays claim disjoint batches.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select e from OutboxEvent e where e.sentAt is null and e.parkedAt is null order by e.id")
+    List<OutboxEvent> claimUnsent(Limit limit);
+
+    long countBySentAtIsNullAndParkedAtIsNull();
+
+    long countByParkedAtIsNotNull();
+
+    Optional<OutboxEvent> findFirstBySentAtIsNullAndParkedAtIsNullOrderByIdAsc();
+
+    @Modifying
+    @Query("update OutboxEvent e set e.sentAt = :sentAt where e.id in :ids")
+    int markSent(Collection<Long> ids, LocalDateTime sentAt);
+
+    @Modifying
+    @Query("update OutboxEvent e set e.attempts = e.attempts + 1 where e.id in :ids")
+    int incrementAttempts(Collection<Long> ids);
+
+    @Modifying
+    @Query("update OutboxEvent e set e.parkedAt = :parkedAt where e.id in :ids and e.attempts >= :maxAttempts")
+    int parkExhausted(Collection<Long> ids, int maxAttempts, LocalDateTime parkedAt);
+
+    @Modifying
+    @Query("delete from OutboxEvent e where e.sentAt < :before")
+    int deleteSentBefore(LocalDateTime before);
+}
@@ -0,0 +1,17 @@
+package com.bookstore.order.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "Request model for creating many orders at once.")
+public record BatchOrderRequest(
+        @Schema(description = "Orders to create, each validated and reported on individually.")
+        @NotEmpty(message = "Orders cannot be empty")
+        @Size(max = BatchOrderRequest.MAX_ORDERS, message = "At most " + BatchOrderRequest.MAX_ORDERS + " orders per batch")
+        List<OrderRequest> orders
+) {
+    public static final int MAX_ORDERS = 500;
+}
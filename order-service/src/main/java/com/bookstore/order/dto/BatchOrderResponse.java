@@ -0,0 +1,20 @@
+package com.bookstore.order.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Per-order outcome of a batch order request.")
+public record BatchOrderResponse(
+        @Schema(description = "Number of orders created", example = "2")
+        int created,
+        @Schema(description = "Number of orders rejected", example = "1")
+        int failed,
+        @Schema(description = "One result per requested order, in request order")
+        List<BatchOrderResult> results
+) {
+    public static BatchOrderResponse of(List<BatchOrderResult> results) {
+        int created = (int) results.stream().filter(BatchOrderResult::created).count();
+        return new BatchOrderResponse(created, results.size() - created, results);
+    }
+}
@@ -0,0 +1,25 @@
+package com.bookstore.order.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Outcome of one order of a batch.")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchOrderResult(
+        @Schema(description = "Position of the order in the request", example = "0")
+        int index,
+        @Schema(description = "Whether the order was created", example = "true")
+        boolean created,
+        @Schema(description = "The created order, absent on failure")
+        OrderResponse order,
+        @Schema(description = "Why the order was rejected, absent on success", example = "Book not found in catalog-service: 99")
+        String error
+) {
+    public static BatchOrderResult created(int index, OrderResponse order) {
+        return new BatchOrderResult(index, true, order, null);
+    }
+
+    public static BatchOrderResult failed(int index, String error) {
+        return new BatchOrderResult(index, false, null, error);
+    }
+}
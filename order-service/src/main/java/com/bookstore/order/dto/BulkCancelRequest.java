@@ -0,0 +1,25 @@
+package com.bookstore.order.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "Selects the orders to cancel: either all open orders of a user or a list of order IDs.")
+public record BulkCancelRequest(
+        @Schema(description = "Cancel every PENDING or CONFIRMED order of this user.", example = "1")
+        Long userId,
+
+        @Schema(description = "Cancel these orders, skipping any that can no longer be cancelled.", example = "[11, 12]")
+        @Size(max = BulkCancelRequest.MAX_IDS, message = "At most " + BulkCancelRequest.MAX_IDS + " order IDs per request")
+        List<Long> orderIds
+) {
+    public static final int MAX_IDS = 500;
+
+    @Schema(hidden = true)
+    @AssertTrue(message = "Exactly one of userId or orderIds is required")
+    public boolean isSingleSelector() {
+        return (userId != null) != (orderIds != null && !orderIds.isEmpty());
+    }
+}
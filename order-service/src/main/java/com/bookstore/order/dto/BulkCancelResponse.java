@@ -0,0 +1,14 @@
+package com.bookstore.order.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Orders cancelled by a bulk cancel request.")
+public record BulkCancelResponse(
+        @Schema(description = "Number of orders cancelled", example = "2")
+        int cancelled,
+        @Schema(description = "IDs of the cancelled orders", example = "[11, 12]")
+        List<Long> orderIds
+) {
+}
@@ -0,0 +1,15 @@
+package com.bookstore.order.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "A page of orders, newest first.")
+public record OrderPageResponse(
+        @Schema(description = "Orders in this page")
+        List<OrderResponse> content,
+        @Schema(description = "Opaque cursor for the next page, absent on the last page",
+                example = "MjAyNS0xMS0wMVQxMDoxNTozMHwxMQ")
+        String nextCursor
+) {
+}
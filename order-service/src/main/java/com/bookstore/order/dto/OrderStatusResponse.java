@@ -0,0 +1,13 @@
+package com.bookstore.order.dto;
+
+import com.bookstore.order.data.entity.OrderStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Processing status of an order.")
+public record OrderStatusResponse(
+        @Schema(description = "Order ID", example = "11")
+        Long id,
+        @Schema(description = "Current order status", example = "CONFIRMED")
+        OrderStatus orderStatus
+) {
+}
@@ -5,5 +5,11 @@ public final class RabbitNames {
 
     public static final String ORDER_EXCHANGE = "order.exchange";
     public static final String ORDER_CREATED_ROUTING_KEY = "order.created";
+    public static final String ORDER_CANCELLED_ROUTING_KEY = "order.cancelled";
     public static final String ORDER_QUEUE = "order.queue";
+    public static final String ORDER_CANCELLED_QUEUE = "order.cancelled.queue";
+
+    public static final String BOOK_EXCHANGE = "book.exchange";
+    public static final String BOOK_UPDATED_ROUTING_KEY = "book.updated";
+    public static final String BOOK_DELETED_ROUTING_KEY = "book.deleted";
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.bookstore.order.messaging.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookDeletedEvent implements Serializable {
+    private Long bookId;
+}
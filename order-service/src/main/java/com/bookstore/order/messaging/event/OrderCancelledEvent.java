@@ -0,0 +1,18 @@
+package com.bookstore.order.messaging.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderCancelledEvent implements Serializable {
+    private Long orderId;
+    private LocalDateTime cancelledAt;
+}
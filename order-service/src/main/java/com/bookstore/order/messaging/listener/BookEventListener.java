@@ -0,0 +1,28 @@
+package com.bookstore.order.messaging.listener;
+
+import com.bookstore.order.client.CatalogBookCache;
+import com.bookstore.order.messaging.event.BookDeletedEvent;
+import com.bookstore.order.messaging.event.BookUpdatedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookEventListener {
+    private final CatalogBookCache catalogBookCache;
+
+    @RabbitListener(queues = "#{bookUpdatedQueue.name}")
+    public void handleBookUpdatedEvent(BookUpdatedEvent event) {
+        log.debug("BookUpdatedEvent received in Order Service: {}", event);
+        catalogBookCache.evict(event.getBookId(), "updated");
+    }
+
+    @RabbitListener(queues = "#{bookDeletedQueue.name}")
+    public void handleBookDeletedEvent(BookDeletedEvent event) {
+        log.debug("BookDeletedEvent received in Order Service: {}", event);
+        catalogBookCache.evict(event.getBookId(), "deleted");
+    }
+}
@@ -0,0 +1,45 @@
+package com.bookstore.order.messaging.outbox;
+
+import com.bookstore.order.data.entity.OutboxEvent;
+import com.bookstore.order.data.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records domain events in the {@code outbox_events} table as part of the caller's transaction.
+ * {@link OutboxRelay} publishes them to RabbitMQ after commit, so a rolled-back order never emits an event
+ * and a broker outage never fails an order.
+ */
+@Component
+public class OrderOutbox {
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectWriter objectWriter;
+
+    public OrderOutbox(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(Long aggregateId, String routingKey, Object event) {
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setAggregateId(aggregateId);
+        outboxEvent.setEventType(event.getClass().getName());
+        outboxEvent.setRoutingKey(routingKey);
+        outboxEvent.setPayload(serialize(event));
+        outboxEventRepository.save(outboxEvent);
+    }
+
+    private String serialize(Object event) {
+        try {
+            return objectWriter.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + event.getClass().getSimpleName(), e);
+        }
+    }
+}
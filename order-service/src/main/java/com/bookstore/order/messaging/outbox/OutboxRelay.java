@@ -0,0 +1,189 @@
+package com.bookstore.order.messaging.outbox;
+
+import com.bookstore.order.data.entity.OutboxEvent;
+import com.bookstore.order.data.repository.OutboxEventRepository;
+import com.bookstore.order.messaging.publisher.OrderEventPublisher;
+import com.bookstore.order.messaging.publisher.OrderEventPublisher.PendingConfirm;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains {@code outbox_events} in batches: claims unsent rows with {@code SKIP LOCKED}, publishes them,
+ * waits for the broker's publisher confirms and marks only the confirmed rows as sent.
+ * Unconfirmed rows stay pending and are retried on the next poll, so delivery is at-least-once.
+ * Rows the broker keeps returning as unroutable are parked after {@code max-attempts} so they cannot
+ * hold up the events behind them.
+ * <p>
+ * A poll keeps draining while whole batches get confirmed (size trigger); otherwise the next run
+ * starts after the poll interval (time trigger).
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+    private final OutboxEventRepository outboxEventRepository;
+    private final OrderEventPublisher orderEventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration confirmTimeout;
+    private final Duration retention;
+
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong oldestPendingAgeSeconds = new AtomicLong();
+    private final AtomicLong parked = new AtomicLong();
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+    private final Counter parkedCounter;
+    private final Timer batchTimer;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, OrderEventPublisher orderEventPublisher,
+                       PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                       @Value("${order.outbox.batch-size:100}") int batchSize,
+                       @Value("${order.outbox.max-attempts:5}") int maxAttempts,
+                       @Value("${order.outbox.confirm-timeout:5s}") Duration confirmTimeout,
+                       @Value("${order.outbox.retention:7d}") Duration retention) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.orderEventPublisher = orderEventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.confirmTimeout = confirmTimeout;
+        this.retention = retention;
+
+        Gauge.builder("order.outbox.pending", pending, AtomicLong::get)
+                .description("Outbox events not yet confirmed by the broker")
+                .register(meterRegistry);
+        Gauge.builder("order.outbox.lag", oldestPendingAgeSeconds, AtomicLong::get)
+                .description("Age of the oldest unsent outbox event")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("order.outbox.parked", parked, AtomicLong::get)
+                .description("Outbox events parked after being returned by the broker too often")
+                .register(meterRegistry);
+        this.publishedCounter = Counter.builder("order.outbox.published").register(meterRegistry);
+        this.failedCounter = Counter.builder("order.outbox.failed").register(meterRegistry);
+        this.parkedCounter = Counter.builder("order.outbox.parked.total").register(meterRegistry);
+        this.batchTimer = Timer.builder("order.outbox.batch").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${order.outbox.poll-interval-ms:1000}")
+    public void relay() {
+        try {
+            int confirmed;
+            do {
+                confirmed = batchTimer.record(() -> transactionTemplate.execute(status -> relayBatch()));
+            } while (confirmed >= batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Outbox relay failed, will retry on next poll: {}", e.getMessage());
+        } finally {
+            refreshLag();
+        }
+    }
+
+    @Scheduled(cron = "${order.outbox.purge-cron:0 0 * * * *}")
+    public void purgeSent() {
+        Integer purged = transactionTemplate.execute(status ->
+                outboxEventRepository.deleteSentBefore(LocalDateTime.now().minus(retention)));
+        log.debug("Purged {} sent outbox events", purged);
+    }
+
+    /**
+     * Returns how many claimed rows were confirmed, so a batch that partly failed ends the drain.
+     */
+    int relayBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.claimUnsent(Limit.of(batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<PendingConfirm> confirmations = orderEventPublisher.publishAll(batch);
+
+        long deadline = System.nanoTime() + confirmTimeout.toNanos();
+        List<Long> confirmedIds = new ArrayList<>(batch.size());
+        List<Long> returnedIds = new ArrayList<>();
+        for (PendingConfirm confirmation : confirmations) {
+            List<Long> ids = confirmation.events().stream().map(OutboxEvent::getId).toList();
+            switch (awaitConfirm(confirmation.correlationData(), deadline)) {
+                case CONFIRMED -> confirmedIds.addAll(ids);
+                case RETURNED -> returnedIds.addAll(ids);
+                case FAILED -> { }
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (!confirmedIds.isEmpty()) {
+            outboxEventRepository.markSent(confirmedIds, now);
+        }
+        // Only returns count as attempts: nacks and missing confirms say nothing about the event itself.
+        if (!returnedIds.isEmpty()) {
+            outboxEventRepository.incrementAttempts(returnedIds);
+            int parkedNow = outboxEventRepository.parkExhausted(returnedIds, maxAttempts, now);
+            if (parkedNow > 0) {
+                log.error("Parked {} outbox events the broker returned {} times", parkedNow, maxAttempts);
+                parkedCounter.increment(parkedNow);
+            }
+        }
+        publishedCounter.increment(confirmedIds.size());
+        failedCounter.increment(batch.size() - confirmedIds.size());
+        return confirmedIds.size();
+    }
+
+    private enum Outcome { CONFIRMED, RETURNED, FAILED }
+
+    private Outcome awaitConfirm(CorrelationData correlationData, long deadline) {
+        try {
+            long remaining = Math.max(0, deadline - System.nanoTime());
+            CorrelationData.Confirm confirm = correlationData.getFuture().get(remaining, TimeUnit.NANOSECONDS);
+            if (!confirm.isAck()) {
+                log.warn("Broker nacked outbox event {}: {}", correlationData.getId(), confirm.getReason());
+                return Outcome.FAILED;
+            }
+            if (correlationData.getReturned() != null) {
+                log.warn("Broker returned outbox event {} as unroutable: {}", correlationData.getId(),
+                        correlationData.getReturned().getRoutingKey());
+                return Outcome.RETURNED;
+            }
+            return Outcome.CONFIRMED;
+        } catch (TimeoutException e) {
+            log.warn("No publisher confirm for outbox event {} within {}", correlationData.getId(), confirmTimeout);
+            return Outcome.FAILED;
+        } catch (ExecutionException e) {
+            log.warn("Publishing outbox event {} failed: {}", correlationData.getId(), e.getCause().getMessage());
+            return Outcome.FAILED;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Outcome.FAILED;
+        }
+    }
+
+    private void refreshLag() {
+        try {
+            pending.set(outboxEventRepository.countBySentAtIsNullAndParkedAtIsNull());
+            parked.set(outboxEventRepository.countByParkedAtIsNotNull());
+            oldestPendingAgeSeconds.set(outboxEventRepository.findFirstBySentAtIsNullAndParkedAtIsNullOrderByIdAsc()
+                    .map(event -> Duration.between(event.getCreatedAt(), LocalDateTime.now()).toSeconds())
+                    .orElse(0L));
+        } catch (RuntimeException e) {
+            log.debug("Could not refresh outbox lag: {}", e.getMessage());
+        }
+    }
+}
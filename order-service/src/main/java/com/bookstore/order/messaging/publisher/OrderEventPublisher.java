@@ -1,20 +1,131 @@
 package com.bookstore.order.messaging.publisher;
 
-import com.bookstore.order.messaging.event.OrderCreatedEvent;
+import com.bookstore.order.data.entity.OutboxEvent;
 import com.bookstore.order.messaging.RabbitNames;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.batch.MessageBatch;
+import org.springframework.amqp.rabbit.batch.SimpleBatchingStrategy;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class OrderEventPublisher {
+    private static final String TYPE_ID_HEADER = "__TypeId__";
+
     private final RabbitTemplate rabbitTemplate;
+    private final PublishMode mode;
+    private final int batchSize;
+    private final int batchBufferLimit;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> publishTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> confirmTimers = new ConcurrentHashMap<>();
+
+    public OrderEventPublisher(RabbitTemplate rabbitTemplate, MeterRegistry meterRegistry,
+                               @Value("${order.messaging.publisher.mode:individual}") PublishMode mode,
+                               @Value("${order.messaging.publisher.batch-size:50}") int batchSize,
+                               @Value("${order.messaging.publisher.batch-buffer-limit:65536}") int batchBufferLimit) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.mode = mode;
+        this.batchSize = batchSize;
+        this.batchBufferLimit = batchBufferLimit;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Sends already serialized outbox events without waiting for the broker. Each returned
+     * {@link PendingConfirm} completes when the broker confirms the AMQP message carrying its events.
+     */
+    public List<PendingConfirm> publishAll(List<OutboxEvent> events) {
+        List<PendingConfirm> confirms = new ArrayList<>();
+        for (List<OutboxEvent> group : group(events)) {
+            confirms.add(send(group));
+        }
+        log.debug("Published {} outbox events in {} messages", events.size(), confirms.size());
+        return confirms;
+    }
+
+    private List<List<OutboxEvent>> group(List<OutboxEvent> events) {
+        if (mode == PublishMode.INDIVIDUAL) {
+            return events.stream().map(List::of).toList();
+        }
+
+        List<List<OutboxEvent>> groups = new ArrayList<>();
+        List<OutboxEvent> current = new ArrayList<>();
+        int currentBytes = 0;
+        for (OutboxEvent event : events) {
+            int eventBytes = event.getPayload().length();
+            boolean full = current.size() >= batchSize || currentBytes + eventBytes > batchBufferLimit;
+            if (!current.isEmpty() && (full || !current.getFirst().getRoutingKey().equals(event.getRoutingKey()))) {
+                groups.add(current);
+                current = new ArrayList<>();
+                currentBytes = 0;
+            }
+            current.add(event);
+            currentBytes += eventBytes;
+        }
+        if (!current.isEmpty()) {
+            groups.add(current);
+        }
+        return groups;
+    }
+
+    private PendingConfirm send(List<OutboxEvent> group) {
+        OutboxEvent first = group.getFirst();
+        Message message = group.size() == 1 ? toMessage(first) : toBatchMessage(group);
+        CorrelationData correlationData = new CorrelationData(String.valueOf(first.getId()));
+        Timer.Sample sample = Timer.start(meterRegistry);
+        rabbitTemplate.send(RabbitNames.ORDER_EXCHANGE, first.getRoutingKey(), message, correlationData);
+        sample.stop(publishTimers.computeIfAbsent(first.getRoutingKey(), routingKey ->
+                timer("order.events.publish", "Time to hand one AMQP message to the broker", routingKey)));
+        Timer confirmTimer = confirmTimers.computeIfAbsent(first.getRoutingKey(), routingKey ->
+                timer("order.events.confirm", "Time from send until the broker confirms the message", routingKey));
+        correlationData.getFuture().whenComplete((confirm, error) -> sample.stop(confirmTimer));
+        return new PendingConfirm(group, correlationData);
+    }
+
+    // Routing keys and modes are fixed sets, so these tags stay low-cardinality.
+    private Timer timer(String name, String description, String routingKey) {
+        return Timer.builder(name)
+                .description(description)
+                .tag("routing-key", routingKey)
+                .tag("mode", mode.name().toLowerCase(Locale.ROOT))
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    private Message toBatchMessage(List<OutboxEvent> group) {
+        SimpleBatchingStrategy batchingStrategy =
+                new SimpleBatchingStrategy(group.size(), Integer.MAX_VALUE, Long.MAX_VALUE);
+        MessageBatch batch = null;
+        for (OutboxEvent event : group) {
+            batch = batchingStrategy.addToBatch(RabbitNames.ORDER_EXCHANGE, event.getRoutingKey(), toMessage(event));
+        }
+        return batch.getMessage();
+    }
+
+    private static Message toMessage(OutboxEvent event) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setContentEncoding(StandardCharsets.UTF_8.name());
+        properties.setMessageId(String.valueOf(event.getId()));
+        properties.setHeader(TYPE_ID_HEADER, event.getEventType());
+        return new Message(event.getPayload().getBytes(StandardCharsets.UTF_8), properties);
+    }
 
-    public void publishOrderCreated(OrderCreatedEvent event) {
-        rabbitTemplate.convertAndSend(RabbitNames.ORDER_EXCHANGE, RabbitNames.ORDER_CREATED_ROUTING_KEY, event);
-        log.info("OrderCreatedEvent published: {}", event);
+    public record PendingConfirm(List<OutboxEvent> events, CorrelationData correlationData) {
     }
-}
\ No newline at end of file
+}
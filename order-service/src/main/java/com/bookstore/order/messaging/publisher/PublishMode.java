@@ -0,0 +1,8 @@
+package com.bookstore.order.messaging.publisher;
+
+public enum PublishMode {
+    /** One AMQP message per event. */
+    INDIVIDUAL,
+    /** Consecutive events with the same routing key share one AMQP message, de-batched by the consumer container. */
+    BATCHED
+}
@@ -0,0 +1,114 @@
+package com.bookstore.order.service;
+
+import com.bookstore.order.data.entity.OrderStatus;
+import com.bookstore.order.dto.OrderRequest;
+import com.bookstore.order.dto.OrderStatusResponse;
+import com.bookstore.order.service.OrderMetrics.Source;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opt-in asynchronous order creation. The request thread only persists a PENDING order; pricing and
+ * totalling run on a fixed pool of workers. Capacity (running plus queued orders) is reserved before
+ * anything is written, so a saturated pipeline answers 429 instead of accepting orders it cannot process.
+ * Queued work lives only in memory, so accepted orders still unpriced after {@code stale-after}
+ * (lost to a restart or crash) are failed by a periodic sweep.
+ */
+@Slf4j
+@Service
+public class AsyncOrderIntake {
+    private static final int SWEEP_LIMIT = 500;
+
+    private final OrderService orderService;
+    private final OrderMetrics orderMetrics;
+    private final ThreadPoolExecutor executor;
+    private final Semaphore capacity;
+    private final int maxInFlight;
+    private final Duration staleAfter;
+
+    public AsyncOrderIntake(OrderService orderService, OrderMetrics orderMetrics, MeterRegistry meterRegistry,
+                            @Value("${order.async.workers:4}") int workers,
+                            @Value("${order.async.queue-capacity:200}") int queueCapacity,
+                            @Value("${order.async.stale-after:10m}") Duration staleAfter) {
+        this.orderService = orderService;
+        this.orderMetrics = orderMetrics;
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), Thread.ofPlatform().name("order-intake-", 0).factory());
+        this.maxInFlight = workers + queueCapacity;
+        this.capacity = new Semaphore(maxInFlight);
+        this.staleAfter = staleAfter;
+
+        Gauge.builder("order.async.in-flight", capacity, permits -> maxInFlight - permits.availablePermits())
+                .description("Accepted orders waiting for or undergoing pricing")
+                .register(meterRegistry);
+    }
+
+    public OrderStatusResponse submit(OrderRequest request) {
+        if (!capacity.tryAcquire()) {
+            orderMetrics.rejected(Source.ASYNC);
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Order intake is saturated, retry later");
+        }
+
+        Long orderId = null;
+        try {
+            // Workers have no request context, so the caller's token travels with the task.
+            String authHeader = orderService.getAuthHeader();
+            orderId = orderService.accept(request);
+            Long acceptedId = orderId;
+            executor.execute(() -> process(acceptedId, authHeader));
+            return new OrderStatusResponse(orderId, OrderStatus.PENDING);
+        } catch (RuntimeException e) {
+            capacity.release();
+            orderMetrics.failed(Source.ASYNC, e);
+            if (orderId != null) {
+                // Accepted but never queued, e.g. during shutdown: no worker will ever price it.
+                orderService.fail(orderId);
+            }
+            throw e;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${order.async.sweep-interval-ms:60000}")
+    public void failStaleOrders() {
+        try {
+            List<Long> failed = orderService.failAwaitingPricingBefore(LocalDateTime.now().minus(staleAfter), SWEEP_LIMIT);
+            if (!failed.isEmpty()) {
+                log.warn("Failed {} async orders not priced within {}: {}", failed.size(), staleAfter, failed);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Sweeping stale async orders failed, will retry on next run: {}", e.getMessage());
+        }
+    }
+
+    private void process(Long orderId, String authHeader) {
+        try {
+            orderService.confirm(orderId, authHeader);
+        } catch (RuntimeException e) {
+            log.warn("Async order {} failed: {}", orderId, e.getMessage());
+            orderMetrics.failed(Source.ASYNC, e);
+            orderService.fail(orderId);
+        } finally {
+            capacity.release();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
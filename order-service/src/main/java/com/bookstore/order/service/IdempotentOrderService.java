@@ -0,0 +1,173 @@
+package com.bookstore.order.service;
+
+import com.bookstore.order.data.entity.IdempotencyKey;
+import com.bookstore.order.data.repository.IdempotencyKeyRepository;
+import com.bookstore.order.dto.OrderRequest;
+import com.bookstore.order.dto.OrderResponse;
+import com.bookstore.order.service.OrderMetrics.Source;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Makes {@code POST /orders} safe to retry under an {@code Idempotency-Key}. Lookups go through a hot
+ * in-memory LRU, then the {@code idempotency_keys} table; a key seen for the first time is created once,
+ * with concurrent requests for the same key in this instance waiting on that single execution.
+ * A replay returns the stored order without calling catalog-service or publishing an event.
+ */
+@Slf4j
+@Service
+public class IdempotentOrderService {
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final OrderService orderService;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final OrderMetrics orderMetrics;
+    private final Duration retention;
+
+    private final Cache<String, Completed> completed;
+    private final ConcurrentMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotentOrderService(OrderService orderService, IdempotencyKeyRepository idempotencyKeyRepository,
+                                  OrderMetrics orderMetrics,
+                                  @Value("${order.idempotency.cache.max-size:10000}") long cacheMaxSize,
+                                  @Value("${order.idempotency.cache.ttl:1h}") Duration cacheTtl,
+                                  @Value("${order.idempotency.retention:24h}") Duration retention) {
+        this.orderService = orderService;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.orderMetrics = orderMetrics;
+        this.retention = retention;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                .build();
+    }
+
+    public OrderResponse create(String idempotencyKey, OrderRequest request) {
+        try {
+            return createOnce(idempotencyKey, request);
+        } catch (RuntimeException e) {
+            orderMetrics.failed(Source.SYNC, e);
+            throw e;
+        }
+    }
+
+    private OrderResponse createOnce(String idempotencyKey, OrderRequest request) {
+        if (idempotencyKey == null) {
+            return orderService.create(request);
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String requestHash = requestHash(request);
+        Completed done = completed.getIfPresent(idempotencyKey);
+        if (done != null) {
+            return replay(idempotencyKey, done.requestHash(), requestHash, done.response());
+        }
+
+        InFlight mine = new InFlight(requestHash, new CompletableFuture<>());
+        InFlight running = inFlight.putIfAbsent(idempotencyKey, mine);
+        if (running != null) {
+            OrderResponse response = await(running.future());
+            return replay(idempotencyKey, running.requestHash(), requestHash, response);
+        }
+
+        try {
+            OrderResponse response = execute(idempotencyKey, requestHash, request);
+            mine.future().complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            mine.future().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(idempotencyKey, mine);
+        }
+    }
+
+    @Scheduled(cron = "${order.idempotency.purge-cron:0 30 * * * *}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = idempotencyKeyRepository.deleteCreatedBefore(LocalDateTime.now().minus(retention));
+        log.debug("Purged {} idempotency keys", purged);
+    }
+
+    private OrderResponse execute(String idempotencyKey, String requestHash, OrderRequest request) {
+        var stored = idempotencyKeyRepository.findByKey(idempotencyKey);
+        if (stored.isPresent()) {
+            return replayStored(stored.get(), requestHash);
+        }
+
+        try {
+            OrderResponse response = orderService.create(request, idempotencyKey, requestHash);
+            completed.put(idempotencyKey, new Completed(requestHash, response));
+            return response;
+        } catch (DataIntegrityViolationException e) {
+            // Another instance committed the same key first; its order wins and ours was rolled back.
+            return idempotencyKeyRepository.findByKey(idempotencyKey)
+                    .map(key -> replayStored(key, requestHash))
+                    .orElseThrow(() -> e);
+        }
+    }
+
+    private OrderResponse replayStored(IdempotencyKey stored, String requestHash) {
+        OrderResponse response = orderService.getById(stored.getOrderId());
+        completed.put(stored.getKey(), new Completed(stored.getRequestHash(), response));
+        return replay(stored.getKey(), stored.getRequestHash(), requestHash, response);
+    }
+
+    private static OrderResponse replay(String idempotencyKey, String originalHash, String requestHash,
+                                        OrderResponse response) {
+        if (!originalHash.equals(requestHash)) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Idempotency-Key " + idempotencyKey + " was already used with a different request");
+        }
+        return response;
+    }
+
+    private static OrderResponse await(CompletableFuture<OrderResponse> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    static String requestHash(OrderRequest request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(request.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Completed(String requestHash, OrderResponse response) {
+    }
+
+    private record InFlight(String requestHash, CompletableFuture<OrderResponse> future) {
+    }
+}
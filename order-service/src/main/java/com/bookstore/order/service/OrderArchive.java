@@ -0,0 +1,65 @@
+package com.bookstore.order.service;
+
+import com.bookstore.order.data.entity.ArchivedOrder;
+import com.bookstore.order.data.repository.ArchivedOrderRepository;
+import com.bookstore.order.dto.OrderResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Reads and writes the compressed rows of {@code order_archive}. Archived orders are immutable, so the
+ * stored {@link OrderResponse} is returned as is.
+ */
+@Component
+public class OrderArchive {
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+
+    public OrderArchive(ArchivedOrderRepository archivedOrderRepository, ObjectMapper objectMapper) {
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.reader = objectMapper.readerFor(OrderResponse.class);
+        this.writer = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    public Optional<OrderResponse> find(Long id) {
+        return archivedOrderRepository.findPayloadById(id).map(this::decompress);
+    }
+
+    ArchivedOrder toArchived(OrderResponse order, LocalDateTime archivedAt) {
+        return new ArchivedOrder(order.id(), order.userId(), order.createdAt(),
+                order.createdAt().toLocalDate().withDayOfMonth(1), archivedAt, compress(order));
+    }
+
+    private byte[] compress(OrderResponse order) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            writer.writeValue(out, order);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not archive order " + order.id(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private OrderResponse decompress(byte[] payload) {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+            return reader.readValue(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt order_archive payload", e);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.bookstore.order.service;
+
+import com.bookstore.order.data.entity.Order;
+import com.bookstore.order.data.entity.OrderItem;
+import com.bookstore.order.data.mapper.OrderItemMapper;
+import com.bookstore.order.data.mapper.OrderMapper;
+import com.bookstore.order.data.repository.OrderItemRepository;
+import com.bookstore.order.data.repository.OrderRepository;
+import com.bookstore.order.data.repository.OrderViewRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps {@code orders}, {@code order_items} and {@code order_view} down to recent months by moving whole
+ * months older than {@code order.archive.after-months} into {@code order_archive}. Works in id-ordered chunks,
+ * one transaction per chunk, so an interrupted run simply continues on the next schedule. Each chunk is
+ * locked while it is copied, so a concurrent cancel or confirm either lands first or waits and finds the order gone.
+ * {@link OrderService#getById} still finds archived orders, but lists and exports no longer do, which is why the
+ * job only runs when {@code order.archive.enabled} is set.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "order.archive.enabled", havingValue = "true")
+public class OrderArchiver {
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final OrderViewRepository orderViewRepository;
+    private final OrderArchive orderArchive;
+    private final OrderMapper orderMapper;
+    private final OrderItemMapper orderItemMapper;
+    private final UserOrderPageCache userOrderPageCache;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int afterMonths;
+    private final int chunkSize;
+
+    public OrderArchiver(OrderRepository orderRepository, OrderItemRepository orderItemRepository,
+                         OrderViewRepository orderViewRepository, OrderArchive orderArchive,
+                         OrderMapper orderMapper, OrderItemMapper orderItemMapper,
+                         UserOrderPageCache userOrderPageCache, EntityManager entityManager,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${order.archive.after-months:12}") int afterMonths,
+                         @Value("${order.archive.chunk-size:500}") int chunkSize) {
+        this.orderRepository = orderRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.orderViewRepository = orderViewRepository;
+        this.orderArchive = orderArchive;
+        this.orderMapper = orderMapper;
+        this.orderItemMapper = orderItemMapper;
+        this.userOrderPageCache = userOrderPageCache;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.afterMonths = afterMonths;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(cron = "${order.archive.cron:0 0 3 * * *}")
+    public void archiveExpiredMonths() {
+        LocalDateTime before = YearMonth.now().minusMonths(afterMonths).atDay(1).atStartOfDay();
+        long archived = archiveBefore(before);
+        if (archived > 0) {
+            log.info("Archived {} orders created before {}", archived, before);
+        }
+    }
+
+    public long archiveBefore(LocalDateTime before) {
+        long archived = 0;
+        while (true) {
+            Integer moved = transactionTemplate.execute(status -> archiveChunk(before));
+            if (moved == null || moved == 0) {
+                return archived;
+            }
+            archived += moved;
+        }
+    }
+
+    private int archiveChunk(LocalDateTime before) {
+        List<Order> orders = orderRepository.lockChunkCreatedBefore(before, Limit.of(chunkSize));
+        if (orders.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = orders.stream().map(Order::getId).toList();
+        Map<Long, List<OrderItem>> itemsByOrder = orderItemRepository.findByOrderIdIn(ids).stream()
+                .collect(Collectors.groupingBy(OrderItem::getOrderId));
+        LocalDateTime archivedAt = LocalDateTime.now();
+        for (Order order : orders) {
+            List<OrderItem> items = itemsByOrder.getOrDefault(order.getId(), List.of());
+            entityManager.persist(orderArchive.toArchived(
+                    orderMapper.toResponse(order, orderItemMapper.toResponseList(items)), archivedAt));
+        }
+        entityManager.flush();
+
+        orderItemRepository.deleteByOrderIdIn(ids);
+        orderViewRepository.deleteAllByIdInBatch(ids);
+        orderRepository.deleteAllByIdInBatch(ids);
+        entityManager.clear();
+        orders.stream().map(Order::getUserId).distinct().forEach(userOrderPageCache::evictAfterCommit);
+        return orders.size();
+    }
+}
@@ -0,0 +1,7 @@
+package com.bookstore.order.service;
+
+/**
+ * In-process notification that an order or its items changed; drives the {@code order_view} projection.
+ */
+public record OrderChanged(Long orderId) {
+}
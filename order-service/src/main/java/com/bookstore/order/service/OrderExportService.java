@@ -0,0 +1,80 @@
+package com.bookstore.order.service;
+
+import com.bookstore.order.data.entity.Order;
+import com.bookstore.order.data.entity.OrderItem;
+import com.bookstore.order.data.mapper.OrderItemMapper;
+import com.bookstore.order.data.mapper.OrderMapper;
+import com.bookstore.order.data.repository.OrderItemRepository;
+import com.bookstore.order.data.repository.OrderRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Writes orders as newline-delimited JSON straight from two forward-only cursors:
+ * orders by id and their items by order id. Items are attached with a merge join,
+ * and every row is detached once written, so memory stays flat however many orders match.
+ */
+@Service
+public class OrderExportService {
+    private static final byte NEWLINE = '\n';
+
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final OrderMapper orderMapper;
+    private final OrderItemMapper orderItemMapper;
+    private final EntityManager entityManager;
+    private final ObjectWriter objectWriter;
+
+    public OrderExportService(OrderRepository orderRepository, OrderItemRepository orderItemRepository,
+                              OrderMapper orderMapper, OrderItemMapper orderItemMapper,
+                              EntityManager entityManager, ObjectMapper objectMapper) {
+        this.orderRepository = orderRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.orderMapper = orderMapper;
+        this.orderItemMapper = orderItemMapper;
+        this.entityManager = entityManager;
+        this.objectWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    @Transactional(readOnly = true)
+    public long export(LocalDateTime since, LocalDateTime until, Long userId, OutputStream out) throws IOException {
+        long exported = 0;
+        try (Stream<Order> orders = orderRepository.streamForExport(since, until, userId);
+             Stream<OrderItem> items = orderItemRepository.streamForExport(since, until, userId)) {
+            Iterator<OrderItem> itemIterator = items.iterator();
+            OrderItem nextItem = itemIterator.hasNext() ? itemIterator.next() : null;
+
+            for (Iterator<Order> orderIterator = orders.iterator(); orderIterator.hasNext(); ) {
+                Order order = orderIterator.next();
+                List<OrderItem> orderItems = new ArrayList<>();
+                while (nextItem != null && nextItem.getOrderId() <= order.getId()) {
+                    if (nextItem.getOrderId().equals(order.getId())) {
+                        orderItems.add(nextItem);
+                    }
+                    entityManager.detach(nextItem);
+                    nextItem = itemIterator.hasNext() ? itemIterator.next() : null;
+                }
+
+                out.write(objectWriter.writeValueAsBytes(
+                        orderMapper.toResponse(order, orderItemMapper.toResponseList(orderItems))));
+                out.write(NEWLINE);
+                entityManager.detach(order);
+                exported++;
+            }
+        }
+        out.flush();
+        return exported;
+    }
+}
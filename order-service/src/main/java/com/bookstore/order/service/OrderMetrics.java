@@ -0,0 +1,140 @@
+package com.bookstore.order.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Meters for the order creation path. Latency is broken down by {@link Step} so catalog pricing, entity
+ * writes, outbox appends and the commit can be told apart; outcomes are counted per {@link Source}.
+ * All tags come from enums, so the number of series is fixed.
+ */
+@Component
+public class OrderMetrics {
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    public enum Step {
+        /** Catalog lookup (cache or catalog-service) and building the priced items. */
+        PRICING,
+        INITIALIZE,
+        /** Repository saves; with JDBC batching the INSERTs themselves are sent during {@link #COMMIT}. */
+        PERSIST,
+        OUTBOX,
+        /** Flush and commit of the order transaction. */
+        COMMIT
+    }
+
+    public enum Source {SYNC, ASYNC, BATCH}
+
+    public enum Outcome {CREATED, REJECTED, FAILED}
+
+    private final Map<Step, Timer> stepTimers = new EnumMap<>(Step.class);
+    private final Map<Source, Map<Outcome, Counter>> outcomeCounters = new EnumMap<>(Source.class);
+    private final DistributionSummary itemsPerOrder;
+
+    public OrderMetrics(MeterRegistry meterRegistry) {
+        for (Step step : Step.values()) {
+            stepTimers.put(step, Timer.builder("order.create.step")
+                    .description("Time spent in each step of creating or confirming an order")
+                    .tag("step", tagValue(step))
+                    .publishPercentiles(PERCENTILES)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        for (Source source : Source.values()) {
+            Map<Outcome, Counter> counters = new EnumMap<>(Outcome.class);
+            for (Outcome outcome : Outcome.values()) {
+                counters.put(outcome, Counter.builder("order.outcomes")
+                        .description("Order creation attempts by entry point and result")
+                        .tag("source", tagValue(source))
+                        .tag("outcome", tagValue(outcome))
+                        .register(meterRegistry));
+            }
+            outcomeCounters.put(source, counters);
+        }
+        this.itemsPerOrder = DistributionSummary.builder("order.items")
+                .description("Line items per created order")
+                .publishPercentiles(PERCENTILES)
+                .register(meterRegistry);
+    }
+
+    public <T> T time(Step step, Supplier<T> work) {
+        return stepTimers.get(step).record(work);
+    }
+
+    public void time(Step step, Runnable work) {
+        stepTimers.get(step).record(work);
+    }
+
+    /**
+     * Times the flush and commit of the current transaction, which is where batched INSERTs reach the database.
+     */
+    public void timeCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Timer commitTimer = stepTimers.get(Step.COMMIT);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long start;
+
+            @Override
+            public void beforeCompletion() {
+                start = System.nanoTime();
+            }
+
+            @Override
+            public void afterCommit() {
+                commitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+
+    /**
+     * Counts the order once its transaction has committed, so rolled-back orders are not reported as created.
+     */
+    public void created(Source source, int items) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recordCreated(source, items);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recordCreated(source, items);
+            }
+        });
+    }
+
+    public void rejected(Source source) {
+        outcomeCounters.get(source).get(Outcome.REJECTED).increment();
+    }
+
+    /**
+     * Client errors (4xx) count as rejected; anything else, such as catalog-service being unavailable, as failed.
+     */
+    public void failed(Source source, RuntimeException error) {
+        boolean clientError = error instanceof ResponseStatusException statusException
+                && statusException.getStatusCode().is4xxClientError();
+        outcomeCounters.get(source).get(clientError ? Outcome.REJECTED : Outcome.FAILED).increment();
+    }
+
+    private void recordCreated(Source source, int items) {
+        outcomeCounters.get(source).get(Outcome.CREATED).increment();
+        itemsPerOrder.record(items);
+    }
+
+    private static String tagValue(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+}
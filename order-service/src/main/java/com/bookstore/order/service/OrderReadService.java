@@ -0,0 +1,142 @@
+package com.bookstore.order.service;
+
+import com.bookstore.order.data.entity.OrderStatus;
+import com.bookstore.order.data.repository.OrderViewRepository;
+import com.bookstore.order.data.repository.OrderViewRow;
+import com.bookstore.order.dto.OrderItemResponse;
+import com.bookstore.order.dto.OrderPageResponse;
+import com.bookstore.order.dto.OrderResponse;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Serves order reads from the {@code order_view} projection: a single indexed lookup per order or page,
+ * no entity hydration. The view trails writes slightly, so {@link #getById} falls back to the source
+ * tables for orders not projected yet. With {@code order.read-model.enabled=false} every read goes to
+ * the source tables.
+ */
+@Service
+public class OrderReadService {
+    private static final byte NEWLINE = '\n';
+    private static final TypeReference<List<OrderItemResponse>> ITEMS = new TypeReference<>() {
+    };
+
+    private final OrderService orderService;
+    private final OrderExportService orderExportService;
+    private final OrderViewRepository orderViewRepository;
+    private final UserOrderPageCache userOrderPageCache;
+    private final ObjectReader itemsReader;
+    private final ObjectWriter objectWriter;
+    private final boolean enabled;
+
+    public OrderReadService(OrderService orderService, OrderExportService orderExportService,
+                            OrderViewRepository orderViewRepository, UserOrderPageCache userOrderPageCache,
+                            ObjectMapper objectMapper,
+                            @Value("${order.read-model.enabled:true}") boolean enabled) {
+        this.orderService = orderService;
+        this.orderExportService = orderExportService;
+        this.orderViewRepository = orderViewRepository;
+        this.userOrderPageCache = userOrderPageCache;
+        this.itemsReader = objectMapper.readerFor(ITEMS);
+        this.objectWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        this.enabled = enabled;
+    }
+
+    public OrderResponse getById(Long id) {
+        if (!enabled) {
+            return orderService.getById(id);
+        }
+        return orderViewRepository.findRowById(id)
+                .map(this::toResponse)
+                .orElseGet(() -> orderService.getById(id));
+    }
+
+    public OrderPageResponse getPage(String cursor, int size) {
+        if (!enabled) {
+            return orderService.getPage(cursor, size);
+        }
+        int pageSize = Math.clamp(size, 1, OrderService.MAX_PAGE_SIZE);
+        Limit limit = Limit.of(pageSize + 1);
+
+        if (cursor == null || cursor.isBlank()) {
+            return toPage(orderViewRepository.findNewest(limit), pageSize);
+        }
+        OrderCursor position = OrderCursor.decode(cursor);
+        return toPage(orderViewRepository.findNewestBefore(position.createdAt(), position.id(), limit), pageSize);
+    }
+
+    public OrderPageResponse getUserPage(Long userId, String cursor, int size) {
+        if (!enabled) {
+            return orderService.getUserPage(userId, cursor, size);
+        }
+        int pageSize = Math.clamp(size, 1, OrderService.MAX_PAGE_SIZE);
+        Limit limit = Limit.of(pageSize + 1);
+
+        if (cursor == null || cursor.isBlank()) {
+            return userOrderPageCache.get(userId, pageSize,
+                    () -> toPage(orderViewRepository.findNewestByUser(userId, limit), pageSize));
+        }
+        OrderCursor position = OrderCursor.decode(cursor);
+        return toPage(orderViewRepository.findNewestByUserBefore(userId, position.createdAt(), position.id(), limit),
+                pageSize);
+    }
+
+    /**
+     * Items are already stored as JSON, so each line is written without parsing them.
+     */
+    @Transactional(readOnly = true)
+    public long export(LocalDateTime since, LocalDateTime until, Long userId, OutputStream out) throws IOException {
+        if (!enabled) {
+            return orderExportService.export(since, until, userId, out);
+        }
+        long exported = 0;
+        try (Stream<OrderViewRow> rows = orderViewRepository.streamForExport(since, until, userId)) {
+            for (Iterator<OrderViewRow> iterator = rows.iterator(); iterator.hasNext(); ) {
+                OrderViewRow row = iterator.next();
+                out.write(objectWriter.writeValueAsBytes(new ExportLine(row.id(), row.userId(), row.total(),
+                        row.orderStatus(), row.createdAt(), row.itemsJson())));
+                out.write(NEWLINE);
+                exported++;
+            }
+        }
+        out.flush();
+        return exported;
+    }
+
+    private OrderPageResponse toPage(List<OrderViewRow> rows, int pageSize) {
+        boolean hasNext = rows.size() > pageSize;
+        List<OrderViewRow> page = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasNext ? new OrderCursor(page.getLast().createdAt(), page.getLast().id()).encode() : null;
+        return new OrderPageResponse(page.stream().map(this::toResponse).toList(), nextCursor);
+    }
+
+    private OrderResponse toResponse(OrderViewRow row) {
+        try {
+            List<OrderItemResponse> items = itemsReader.readValue(row.itemsJson());
+            return new OrderResponse(row.id(), row.userId(), row.total(), row.orderStatus(), row.createdAt(), items);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt order_view row " + row.id(), e);
+        }
+    }
+
+    private record ExportLine(Long id, Long userId, BigDecimal total, OrderStatus orderStatus,
+                              LocalDateTime createdAt, @JsonRawValue String items) {
+    }
+}
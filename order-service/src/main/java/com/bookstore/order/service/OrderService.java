@@ -1,18 +1,36 @@
 package com.bookstore.order.service;
 
-import com.bookstore.order.client.CatalogClient;
+import com.bookstore.order.client.CatalogBookCache;
+import com.bookstore.order.data.entity.IdempotencyKey;
 import com.bookstore.order.data.entity.Order;
 import com.bookstore.order.data.entity.OrderItem;
 import com.bookstore.order.data.entity.OrderStatus;
 import com.bookstore.order.data.mapper.OrderItemMapper;
 import com.bookstore.order.data.mapper.OrderMapper;
+import com.bookstore.order.data.repository.IdempotencyKeyRepository;
 import com.bookstore.order.data.repository.OrderItemRepository;
 import com.bookstore.order.data.repository.OrderRepository;
+import com.bookstore.order.dto.BatchOrderResponse;
+import com.bookstore.order.dto.BatchOrderResult;
+import com.bookstore.order.dto.BulkCancelRequest;
+import com.bookstore.order.dto.BulkCancelResponse;
+import com.bookstore.order.dto.CatalogBookResponse;
+import com.bookstore.order.dto.OrderItemRequest;
+import com.bookstore.order.dto.OrderPageResponse;
 import com.bookstore.order.dto.OrderRequest;
 import com.bookstore.order.dto.OrderResponse;
+import com.bookstore.order.dto.OrderStatusResponse;
+import com.bookstore.order.messaging.RabbitNames;
+import com.bookstore.order.messaging.event.OrderCancelledEvent;
 import com.bookstore.order.messaging.event.OrderCreatedEvent;
-import com.bookstore.order.messaging.publisher.OrderEventPublisher;
+import com.bookstore.order.messaging.outbox.OrderOutbox;
+import com.bookstore.order.service.OrderMetrics.Source;
+import com.bookstore.order.service.OrderMetrics.Step;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -23,103 +41,399 @@ import org.springframework.web.context.request.ServletRequestAttributes;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class OrderService {
+    static final int MAX_PAGE_SIZE = 100;
+    static final List<OrderStatus> CANCELLABLE = List.of(OrderStatus.PENDING, OrderStatus.CONFIRMED);
+
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
     private final OrderMapper orderMapper;
     private final OrderItemMapper orderItemMapper;
-    private final OrderEventPublisher orderEventPublisher;
+    private final OrderOutbox orderOutbox;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
 
     private final RestTemplate restTemplate;
-    private final CatalogClient catalogClient;
-
+    private final CatalogBookCache catalogBookCache;
+    private final UserOrderPageCache userOrderPageCache;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final Validator validator;
+    private final OrderMetrics orderMetrics;
+    private final OrderArchive orderArchive;
 
     public OrderService(OrderRepository orderRepository, OrderItemRepository orderItemRepository,
                         OrderMapper orderMapper, OrderItemMapper orderItemMapper,
-                        OrderEventPublisher orderEventPublisher, RestTemplate restTemplate, CatalogClient catalogClient) {
+                        OrderOutbox orderOutbox, IdempotencyKeyRepository idempotencyKeyRepository,
+                        RestTemplate restTemplate, CatalogBookCache catalogBookCache,
+                        UserOrderPageCache userOrderPageCache, ApplicationEventPublisher applicationEventPublisher,
+                        Validator validator, OrderMetrics orderMetrics, OrderArchive orderArchive) {
         this.orderRepository = orderRepository;
         this.orderItemRepository = orderItemRepository;
         this.orderMapper = orderMapper;
         this.orderItemMapper = orderItemMapper;
-        this.orderEventPublisher = orderEventPublisher;
+        this.orderOutbox = orderOutbox;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
         this.restTemplate = restTemplate;
-        this.catalogClient = catalogClient;
+        this.catalogBookCache = catalogBookCache;
+        this.userOrderPageCache = userOrderPageCache;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.validator = validator;
+        this.orderMetrics = orderMetrics;
+        this.orderArchive = orderArchive;
     }
 
     @Transactional
     public OrderResponse create(OrderRequest request) {
-        Order order = initializeOrder(request.userId());
-        List<OrderItem> items = processOrderItems(request, order);
-        orderRepository.save(order);
-        publishOrderCreatedEvent(order);
+        List<OrderItem> items = orderMetrics.time(Step.PRICING, () -> processOrderItems(request));
+        Order order = orderMetrics.time(Step.INITIALIZE, () -> initializeOrder(request.userId(), calculateTotal(items)));
+
+        // The sequence id is assigned on save without an INSERT, so order and items are flushed as JDBC batches.
+        orderMetrics.time(Step.PERSIST, () -> {
+            orderRepository.save(order);
+            items.forEach(item -> item.setOrderId(order.getId()));
+            orderItemRepository.saveAll(items);
+        });
+        orderMetrics.time(Step.OUTBOX, () -> publishOrderCreatedEvent(order, items));
+        orderChanged(order);
+        orderMetrics.timeCommit();
+        orderMetrics.created(Source.SYNC, items.size());
         return orderMapper.toResponse(order, orderItemMapper.toResponseList(items));
     }
 
-    public List<OrderResponse> getAll() {
-        return orderRepository.findAll().stream()
-                .map(order -> {
-                    var items = orderItemRepository.findByOrderId(order.getId());
-                    return orderMapper.toResponse(order, orderItemMapper.toResponseList(items));
-                })
+    /**
+     * Creates the order and records its idempotency key in the same transaction, so the key
+     * exists if and only if the order does. A concurrent insert of the same key fails on commit.
+     */
+    @Transactional
+    public OrderResponse create(OrderRequest request, String idempotencyKey, String requestHash) {
+        OrderResponse response = create(request);
+        IdempotencyKey key = new IdempotencyKey();
+        key.setKey(idempotencyKey);
+        key.setRequestHash(requestHash);
+        key.setOrderId(response.id());
+        idempotencyKeyRepository.save(key);
+        return response;
+    }
+
+    /**
+     * Creates many orders in one transaction. The distinct books of all orders are priced with one catalog
+     * lookup, and orders, items and outbox events are written as JDBC batches. Orders that are invalid or
+     * reference books unknown to the catalog are reported individually and do not stop the rest.
+     */
+    @Transactional
+    public BatchOrderResponse createBatch(List<OrderRequest> requests) {
+        BatchOrderResult[] results = new BatchOrderResult[requests.size()];
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            String violation = validate(requests.get(i));
+            if (violation == null) {
+                valid.add(i);
+            } else {
+                results[i] = BatchOrderResult.failed(i, violation);
+                orderMetrics.rejected(Source.BATCH);
+            }
+        }
+
+        List<Long> bookIds = valid.stream()
+                .flatMap(i -> requests.get(i).items().stream())
+                .map(OrderItemRequest::bookId)
+                .distinct()
                 .toList();
+        Map<Long, BigDecimal> prices = bookIds.isEmpty() ? Map.of()
+                : orderMetrics.time(Step.PRICING, () -> catalogBookCache.getBooksByIds(bookIds, getAuthHeader()).stream()
+                        .collect(Collectors.toMap(CatalogBookResponse::id, CatalogBookResponse::price)));
+
+        List<Integer> indexes = new ArrayList<>();
+        List<Order> orders = new ArrayList<>();
+        List<List<OrderItem>> itemsPerOrder = new ArrayList<>();
+        for (int i : valid) {
+            OrderRequest request = requests.get(i);
+            Optional<Long> unknownBook = request.items().stream()
+                    .map(OrderItemRequest::bookId)
+                    .filter(bookId -> !prices.containsKey(bookId))
+                    .findFirst();
+            if (unknownBook.isPresent()) {
+                results[i] = BatchOrderResult.failed(i, "Book not found in catalog-service: " + unknownBook.get());
+                orderMetrics.rejected(Source.BATCH);
+                continue;
+            }
+
+            List<OrderItem> items = priceItems(request, prices);
+            indexes.add(i);
+            orders.add(initializeOrder(request.userId(), calculateTotal(items)));
+            itemsPerOrder.add(items);
+        }
+
+        orderMetrics.time(Step.PERSIST, () -> {
+            orderRepository.saveAll(orders);
+            for (int k = 0; k < orders.size(); k++) {
+                Long orderId = orders.get(k).getId();
+                itemsPerOrder.get(k).forEach(item -> item.setOrderId(orderId));
+            }
+            orderItemRepository.saveAll(itemsPerOrder.stream().flatMap(List::stream).toList());
+        });
+
+        for (int k = 0; k < orders.size(); k++) {
+            Order order = orders.get(k);
+            List<OrderItem> items = itemsPerOrder.get(k);
+            orderMetrics.time(Step.OUTBOX, () -> publishOrderCreatedEvent(order, items));
+            orderChanged(order);
+            orderMetrics.created(Source.BATCH, items.size());
+            results[indexes.get(k)] = BatchOrderResult.created(indexes.get(k),
+                    orderMapper.toResponse(order, orderItemMapper.toResponseList(items)));
+        }
+        orderMetrics.timeCommit();
+        return BatchOrderResponse.of(Arrays.asList(results));
     }
 
-    public OrderResponse getById(Long id) {
+    /**
+     * Async intake: persists the order as PENDING with unpriced items, leaving pricing to {@link #confirm}.
+     */
+    @Transactional
+    public Long accept(OrderRequest request) {
+        Order order = initializeOrder(request.userId(), BigDecimal.ZERO);
+        order.setAwaitingPricing(true);
+        orderRepository.save(order);
+
+        List<OrderItem> items = request.items().stream().map(orderItemMapper::toEntity).toList();
+        items.forEach(item -> {
+            item.setOrderId(order.getId());
+            item.setPrice(BigDecimal.ZERO);
+        });
+        orderItemRepository.saveAll(items);
+        orderChanged(order);
+        return order.getId();
+    }
+
+    /**
+     * Prices an accepted order and moves it to CONFIRMED. Orders cancelled in the meantime are left alone.
+     */
+    @Transactional
+    public void confirm(Long id, String authHeader) {
         Order order = orderRepository.findById(id).orElseThrow(EntityNotFoundException::new);
-        var items = orderItemRepository.findByOrderId(order.getId());
-        return orderMapper.toResponse(order, orderItemMapper.toResponseList(items));
+        if (order.getOrderStatus() != OrderStatus.PENDING) {
+            return;
+        }
+
+        List<OrderItem> items = orderItemRepository.findByOrderId(id);
+        List<Long> bookIds = items.stream().map(OrderItem::getBookId).distinct().toList();
+        orderMetrics.time(Step.PRICING, () -> {
+            Map<Long, BigDecimal> prices = getBookPrices(bookIds, authHeader);
+            items.forEach(item -> item.setPrice(prices.get(item.getBookId())));
+        });
+
+        // Guarded so a cancel that lands while the order is being priced is not overwritten.
+        BigDecimal total = calculateTotal(items);
+        if (orderMetrics.time(Step.PERSIST, () -> orderRepository.confirm(id, total)) == 0) {
+            return;
+        }
+        order.setTotal(total);
+        order.setOrderStatus(OrderStatus.CONFIRMED);
+        orderMetrics.time(Step.OUTBOX, () -> publishOrderCreatedEvent(order, items));
+        orderChanged(order);
+        orderMetrics.timeCommit();
+        orderMetrics.created(Source.ASYNC, items.size());
     }
 
     @Transactional
-    public void cancel(Long id) {
+    public void fail(Long id) {
+        if (orderRepository.transition(id, List.of(OrderStatus.PENDING), OrderStatus.FAILED) == 1) {
+            applicationEventPublisher.publishEvent(new OrderChanged(id));
+        }
+    }
+
+    /**
+     * Fails accepted orders that no worker priced in time, e.g. because the instance holding them restarted.
+     * Pricing needs the caller's token, which is gone by then, so they cannot be resubmitted.
+     * Each order goes through the guarded {@link #fail}, so one confirmed in the meantime is left alone.
+     */
+    @Transactional
+    public List<Long> failAwaitingPricingBefore(LocalDateTime before, int limit) {
+        List<Long> ids = orderRepository.findAwaitingPricingBefore(before, Limit.of(limit));
+        ids.forEach(this::fail);
+        return ids;
+    }
+
+    public OrderStatusResponse getStatus(Long id) {
         Order order = orderRepository.findById(id).orElseThrow(EntityNotFoundException::new);
-        order.setOrderStatus(OrderStatus.CANCELLED);
-        orderRepository.save(order);
+        return new OrderStatusResponse(order.getId(), order.getOrderStatus());
+    }
+
+    public OrderPageResponse getPage(String cursor, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<Order> orders;
+        if (cursor == null || cursor.isBlank()) {
+            orders = orderRepository.findNewest(limit);
+        } else {
+            OrderCursor position = OrderCursor.decode(cursor);
+            orders = orderRepository.findNewestBefore(position.createdAt(), position.id(), limit);
+        }
+
+        return toPage(orders, pageSize);
+    }
+
+    public OrderPageResponse getUserPage(Long userId, String cursor, int size) {
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        Limit limit = Limit.of(pageSize + 1);
+
+        if (cursor == null || cursor.isBlank()) {
+            return userOrderPageCache.get(userId, pageSize,
+                    () -> toPage(orderRepository.findNewestByUser(userId, limit), pageSize));
+        }
+        OrderCursor position = OrderCursor.decode(cursor);
+        return toPage(orderRepository.findNewestByUserBefore(userId, position.createdAt(), position.id(), limit),
+                pageSize);
+    }
+
+    /**
+     * Orders moved to {@code order_archive} are still found, from their compressed copy.
+     */
+    public OrderResponse getById(Long id) {
+        Optional<Order> order = orderRepository.findById(id);
+        if (order.isEmpty()) {
+            return orderArchive.find(id).orElseThrow(EntityNotFoundException::new);
+        }
+        var items = orderItemRepository.findByOrderId(id);
+        return orderMapper.toResponse(order.get(), orderItemMapper.toResponseList(items));
+    }
+
+    /**
+     * Cancels with one guarded UPDATE, so concurrent cancels and confirmations cannot overwrite each other.
+     * The order is only read again to tell a missing order from one that can no longer be cancelled.
+     * The projector evicts the user's cached first page once the view reflects the cancellation.
+     */
+    @Transactional
+    public void cancel(Long id) {
+        if (orderRepository.transition(id, CANCELLABLE, OrderStatus.CANCELLED) == 0) {
+            if (!orderRepository.existsById(id)) {
+                throw new EntityNotFoundException();
+            }
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Order " + id + " can no longer be cancelled");
+        }
+        publishOrderCancelledEvent(id, LocalDateTime.now());
+        applicationEventPublisher.publishEvent(new OrderChanged(id));
     }
 
-    private Order initializeOrder(Long userId) {
+    /**
+     * Cancels all open orders of a user, or the cancellable ones among the given ids, in two statements: a
+     * {@code SELECT ... FOR UPDATE} that locks the matching rows, then one UPDATE over the locked ids. The lock
+     * makes exactly the locked orders the changed ones, so each gets an {@code OrderCancelledEvent}; the UPDATE
+     * still repeats the status check rather than relying on the lock alone.
+     */
+    @Transactional
+    public BulkCancelResponse cancelAll(BulkCancelRequest request) {
+        List<Order> orders = request.userId() != null
+                ? orderRepository.lockByUserAndStatus(request.userId(), CANCELLABLE)
+                : orderRepository.lockByIdsAndStatus(request.orderIds(), CANCELLABLE);
+        if (orders.isEmpty()) {
+            return new BulkCancelResponse(0, List.of());
+        }
+
+        List<Long> ids = orders.stream().map(Order::getId).toList();
+        orderRepository.transitionAll(ids, CANCELLABLE, OrderStatus.CANCELLED);
+        LocalDateTime cancelledAt = LocalDateTime.now();
+        for (Order order : orders) {
+            order.setOrderStatus(OrderStatus.CANCELLED);
+            publishOrderCancelledEvent(order.getId(), cancelledAt);
+            orderChanged(order);
+        }
+        return new BulkCancelResponse(ids.size(), ids);
+    }
+
+    private OrderPageResponse toPage(List<Order> orders, int pageSize) {
+        boolean hasNext = orders.size() > pageSize;
+        List<Order> page = hasNext ? orders.subList(0, pageSize) : orders;
+        if (page.isEmpty()) {
+            return new OrderPageResponse(List.of(), null);
+        }
+
+        Map<Long, List<OrderItem>> itemsByOrder = orderItemRepository
+                .findByOrderIdIn(page.stream().map(Order::getId).toList()).stream()
+                .collect(Collectors.groupingBy(OrderItem::getOrderId));
+
+        List<OrderResponse> content = page.stream()
+                .map(order -> orderMapper.toResponse(order,
+                        orderItemMapper.toResponseList(itemsByOrder.getOrDefault(order.getId(), List.of()))))
+                .toList();
+        String nextCursor = hasNext ? OrderCursor.after(page.getLast()).encode() : null;
+        return new OrderPageResponse(content, nextCursor);
+    }
+
+    private Order initializeOrder(Long userId, BigDecimal total) {
         Order order = new Order();
         order.setUserId(userId);
         order.setOrderStatus(OrderStatus.PENDING);
-        order.setTotal(BigDecimal.ZERO);
-        return orderRepository.save(order);
+        order.setTotal(total);
+        return order;
     }
 
-    private List<OrderItem> processOrderItems(OrderRequest request, Order order) {
-        List<OrderItem> items = new ArrayList<>();
-        BigDecimal total = BigDecimal.ZERO;
+    private List<OrderItem> processOrderItems(OrderRequest request) {
+        return priceItems(request, getBookPrices(request));
+    }
 
+    List<OrderItem> priceItems(OrderRequest request, Map<Long, BigDecimal> prices) {
+        List<OrderItem> items = new ArrayList<>(request.items().size());
         for (var itemRequest : request.items()) {
-            BigDecimal price = getBookPrice(itemRequest.bookId());
-
             OrderItem item = orderItemMapper.toEntity(itemRequest);
-            item.setOrderId(order.getId());
-            item.setPrice(price);
-
-            total = total.add(price.multiply(BigDecimal.valueOf(itemRequest.quantity())));
+            item.setPrice(prices.get(itemRequest.bookId()));
             items.add(item);
         }
+        return items;
+    }
 
-        orderItemRepository.saveAll(items);
-        order.setTotal(total);
+    private String validate(OrderRequest request) {
+        if (request == null) {
+            return "Order is required";
+        }
+        Set<ConstraintViolation<OrderRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
 
-        return items;
+    static BigDecimal calculateTotal(List<OrderItem> items) {
+        return items.stream()
+                .map(item -> item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
 
-    private void publishOrderCreatedEvent(Order order) {
+    private void orderChanged(Order order) {
+        userOrderPageCache.evictAfterCommit(order.getUserId());
+        applicationEventPublisher.publishEvent(new OrderChanged(order.getId()));
+    }
+
+    private void publishOrderCreatedEvent(Order order, List<OrderItem> items) {
         OrderCreatedEvent event = new OrderCreatedEvent(
                 order.getId(),
                 order.getUserId(),
-                order.getTotal()
+                order.getTotal(),
+                items.stream()
+                        .map(item -> new OrderCreatedEvent.Item(item.getBookId(), item.getQuantity()))
+                        .toList()
         );
-        orderEventPublisher.publishOrderCreated(event);
+        orderOutbox.append(order.getId(), RabbitNames.ORDER_CREATED_ROUTING_KEY, event);
     }
 
-    private String getAuthHeader() {
+    private void publishOrderCancelledEvent(Long orderId, LocalDateTime cancelledAt) {
+        orderOutbox.append(orderId, RabbitNames.ORDER_CANCELLED_ROUTING_KEY, new OrderCancelledEvent(orderId, cancelledAt));
+    }
+
+    String getAuthHeader() {
         var attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
 
         if (attributes == null) {
@@ -135,8 +449,22 @@ public class OrderService {
         return token;
     }
 
-    private BigDecimal getBookPrice(Long bookId) {
-        String token = getAuthHeader();
-        return catalogClient.getBookById(bookId, token).price();
+    private Map<Long, BigDecimal> getBookPrices(OrderRequest request) {
+        List<Long> bookIds = request.items().stream().map(OrderItemRequest::bookId).distinct().toList();
+        return getBookPrices(bookIds, getAuthHeader());
+    }
+
+    private Map<Long, BigDecimal> getBookPrices(List<Long> bookIds, String token) {
+        Map<Long, BigDecimal> prices = catalogBookCache.getBooksByIds(bookIds, token).stream()
+                .collect(Collectors.toMap(CatalogBookResponse::id, CatalogBookResponse::price));
+
+        bookIds.stream()
+                .filter(bookId -> !prices.containsKey(bookId))
+                .findFirst()
+                .ifPresent(bookId -> {
+                    throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Book not found in catalog-service: " + bookId);
+                });
+
+        return prices;
     }
 }
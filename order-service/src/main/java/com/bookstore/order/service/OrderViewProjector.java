@@ -0,0 +1,99 @@
+package com.bookstore.order.service;
+
+import com.bookstore.order.data.entity.Order;
+import com.bookstore.order.data.entity.OrderItem;
+import com.bookstore.order.data.entity.OrderView;
+import com.bookstore.order.data.mapper.OrderItemMapper;
+import com.bookstore.order.data.repository.OrderItemRepository;
+import com.bookstore.order.data.repository.OrderRepository;
+import com.bookstore.order.data.repository.OrderViewRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps {@code order_view} in step with the source tables. Each change is projected after its transaction
+ * commits, off the request thread, by re-reading the order under a row lock. Projections of one order
+ * therefore run one at a time and each writes the latest committed state, so a late or repeated event can
+ * never put back an older one. Changes whose event was lost, e.g. in a crash between commit and projection,
+ * are picked up by {@link OrderViewReconciler}.
+ */
+@Slf4j
+@Component
+public class OrderViewProjector {
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final OrderViewRepository orderViewRepository;
+    private final OrderItemMapper orderItemMapper;
+    private final UserOrderPageCache userOrderPageCache;
+    private final EntityManager entityManager;
+    private final ObjectWriter objectWriter;
+
+    public OrderViewProjector(OrderRepository orderRepository, OrderItemRepository orderItemRepository,
+                              OrderViewRepository orderViewRepository, OrderItemMapper orderItemMapper,
+                              UserOrderPageCache userOrderPageCache, EntityManager entityManager,
+                              ObjectMapper objectMapper) {
+        this.orderRepository = orderRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.orderViewRepository = orderViewRepository;
+        this.orderItemMapper = orderItemMapper;
+        this.userOrderPageCache = userOrderPageCache;
+        this.entityManager = entityManager;
+        this.objectWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    @Async
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void on(OrderChanged event) {
+        project(event.orderId());
+    }
+
+    void project(Long orderId) {
+        orderRepository.lockById(orderId).ifPresentOrElse(order -> {
+            entityManager.merge(toView(order, orderItemRepository.findByOrderId(orderId)));
+            // The user's cached first page may have been refilled from the view before this projection landed.
+            userOrderPageCache.evictAfterCommit(order.getUserId());
+        }, () -> orderViewRepository.deleteById(orderId));
+        log.debug("Projected order {} into order_view", orderId);
+    }
+
+    /**
+     * Replaces the view rows of a chunk of orders, loading all their items with one query.
+     */
+    void projectChunk(List<Order> orders) {
+        List<Long> ids = orders.stream().map(Order::getId).toList();
+        Map<Long, List<OrderItem>> itemsByOrder = orderItemRepository.findByOrderIdIn(ids).stream()
+                .collect(Collectors.groupingBy(OrderItem::getOrderId));
+
+        orderViewRepository.deleteAllByIdInBatch(ids);
+        for (Order order : orders) {
+            entityManager.persist(toView(order, itemsByOrder.getOrDefault(order.getId(), List.of())));
+        }
+    }
+
+    private OrderView toView(Order order, List<OrderItem> items) {
+        return new OrderView(order.getId(), order.getUserId(), order.getTotal(), order.getOrderStatus(),
+                order.getCreatedAt(), serialize(items));
+    }
+
+    private String serialize(List<OrderItem> items) {
+        try {
+            return objectWriter.writeValueAsString(orderItemMapper.toResponseList(items));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize order items", e);
+        }
+    }
+}
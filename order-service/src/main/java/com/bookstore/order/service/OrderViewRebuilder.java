@@ -0,0 +1,70 @@
+package com.bookstore.order.service;
+
+import com.bookstore.order.data.entity.Order;
+import com.bookstore.order.data.repository.OrderRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Replays {@code orders} into {@code order_view} in id-ordered chunks, one transaction per chunk.
+ * Run once after deploying the read model, or to repair it: start the service with
+ * {@code --order.read-model.rebuild=true}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "order.read-model.rebuild", havingValue = "true")
+public class OrderViewRebuilder implements ApplicationRunner {
+    private final OrderRepository orderRepository;
+    private final OrderViewProjector orderViewProjector;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public OrderViewRebuilder(OrderRepository orderRepository, OrderViewProjector orderViewProjector,
+                              EntityManager entityManager, PlatformTransactionManager transactionManager,
+                              @Value("${order.read-model.rebuild-chunk-size:500}") int chunkSize) {
+        this.orderRepository = orderRepository;
+        this.orderViewProjector = orderViewProjector;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long rebuilt = rebuild();
+        log.info("Rebuilt order_view from {} orders", rebuilt);
+    }
+
+    public long rebuild() {
+        long rebuilt = 0;
+        long lastId = 0;
+        while (true) {
+            long after = lastId;
+            List<Long> ids = transactionTemplate.execute(status -> {
+                List<Order> chunk = orderRepository.findChunkAfter(after, Limit.of(chunkSize));
+                if (!chunk.isEmpty()) {
+                    orderViewProjector.projectChunk(chunk);
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+                return chunk.stream().map(Order::getId).toList();
+            });
+            if (ids == null || ids.isEmpty()) {
+                return rebuilt;
+            }
+            rebuilt += ids.size();
+            lastId = ids.getLast();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.bookstore.order.service;
+
+import com.bookstore.order.data.repository.OrderViewRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Periodically re-projects orders whose {@code order_view} row is missing or out of date and drops view rows
+ * whose order is gone. Projections run in-process after commit, so this is what repairs the view after a
+ * crash or a failed projection. Each run walks both tables once in id-ordered chunks.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "order.read-model.reconcile-enabled", havingValue = "true", matchIfMissing = true)
+public class OrderViewReconciler {
+    private final OrderViewRepository orderViewRepository;
+    private final OrderViewProjector orderViewProjector;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter repairedCounter;
+    private final int chunkSize;
+
+    public OrderViewReconciler(OrderViewRepository orderViewRepository, OrderViewProjector orderViewProjector,
+                               PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                               @Value("${order.read-model.rebuild-chunk-size:500}") int chunkSize) {
+        this.orderViewRepository = orderViewRepository;
+        this.orderViewProjector = orderViewProjector;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.repairedCounter = Counter.builder("order.read-model.repaired")
+                .description("order_view rows rewritten or removed by the reconciler")
+                .register(meterRegistry);
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(fixedDelayString = "${order.read-model.reconcile-interval-ms:300000}",
+            initialDelayString = "${order.read-model.reconcile-interval-ms:300000}")
+    public void run() {
+        try {
+            long repaired = reconcile();
+            if (repaired > 0) {
+                log.warn("Repaired {} order_view rows", repaired);
+            }
+        } catch (RuntimeException e) {
+            log.warn("order_view reconciliation failed, will retry on next run: {}", e.getMessage());
+        }
+    }
+
+    public long reconcile() {
+        long repaired = 0;
+        long lastId = 0;
+        while (true) {
+            List<Long> stale = orderViewRepository.findStaleAfter(lastId, Limit.of(chunkSize));
+            if (stale.isEmpty()) {
+                break;
+            }
+            project(stale);
+            repaired += stale.size();
+            lastId = stale.getLast();
+        }
+
+        lastId = 0;
+        while (true) {
+            List<Long> orphaned = orderViewRepository.findOrphanedAfter(lastId, Limit.of(chunkSize));
+            if (orphaned.isEmpty()) {
+                break;
+            }
+            // Re-projecting finds the order gone and deletes the row.
+            project(orphaned);
+            repaired += orphaned.size();
+            lastId = orphaned.getLast();
+        }
+        repairedCounter.increment(repaired);
+        return repaired;
+    }
+
+    // One transaction per order, so the source row locks taken by the projector are held only briefly.
+    private void project(List<Long> orderIds) {
+        orderIds.forEach(id -> transactionTemplate.executeWithoutResult(status -> orderViewProjector.project(id)));
+    }
+}
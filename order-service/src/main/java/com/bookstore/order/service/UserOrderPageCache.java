@@ -0,0 +1,66 @@
+package com.bookstore.order.service;
+
+import com.bookstore.order.dto.OrderPageResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Caches the most recent page of each user's order history, which serves most "my orders" reads.
+ * Concurrent misses for the same user share a single load. Entries are evicted locally after a create/cancel
+ * commits and again once the read model reflects it; evictions are not broadcast, so on other instances
+ * the TTL ({@code order.user-page-cache.ttl}, 30s by default) is how stale a first page can get.
+ */
+@Component
+public class UserOrderPageCache {
+    static final String CACHE_NAME = "orders.user.first-page";
+
+    private final Cache<Long, FirstPage> cache;
+
+    public UserOrderPageCache(MeterRegistry meterRegistry,
+                              @Value("${order.user-page-cache.max-size:10000}") long maxSize,
+                              @Value("${order.user-page-cache.ttl:30s}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * One page size is cached per user, the first one asked for; other sizes are loaded without caching.
+     */
+    public OrderPageResponse get(Long userId, int size, Supplier<OrderPageResponse> loader) {
+        FirstPage cached = cache.get(userId, id -> new FirstPage(size, loader.get()));
+        return cached.size() == size ? cached.page() : loader.get();
+    }
+
+    /**
+     * Evicting before the commit would let a concurrent read cache the old page again. An eviction that
+     * races with a load for the same user waits for that load and then removes its result.
+     */
+    public void evictAfterCommit(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.invalidate(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.invalidate(userId);
+            }
+        });
+    }
+
+    private record FirstPage(int size, OrderPageResponse page) {
+    }
+}
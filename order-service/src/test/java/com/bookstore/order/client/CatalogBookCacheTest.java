@@ -0,0 +1,104 @@
+package com.bookstore.order.client;
+
+import com.bookstore.order.dto.CatalogBookResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogBookCacheTest {
+    private static final String TOKEN = "Bearer test-token";
+
+    @Mock private CatalogClient catalogClient;
+    @Mock private ConcurrentCatalogFetcher concurrentCatalogFetcher;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CatalogBookCache catalogBookCache;
+
+    private final CatalogBookResponse cleanCode = new CatalogBookResponse(1L, "Clean Code", BigDecimal.TEN);
+    private final CatalogBookResponse refactoring = new CatalogBookResponse(2L, "Refactoring", BigDecimal.ONE);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        catalogBookCache = new CatalogBookCache(catalogClient, concurrentCatalogFetcher, meterRegistry,
+                CatalogPricingMode.BATCH, 100, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void shouldOnlyFetchBooksMissingFromCache() {
+        when(catalogClient.getBooksByIds(List.of(1L), TOKEN)).thenReturn(List.of(cleanCode));
+        when(catalogClient.getBooksByIds(List.of(2L), TOKEN)).thenReturn(List.of(refactoring));
+
+        catalogBookCache.getBooksByIds(List.of(1L), TOKEN);
+        List<CatalogBookResponse> books = catalogBookCache.getBooksByIds(List.of(1L, 2L), TOKEN);
+
+        assertThat(books).containsExactlyInAnyOrder(cleanCode, refactoring);
+        verify(catalogClient).getBooksByIds(List.of(1L), TOKEN);
+        verify(catalogClient).getBooksByIds(List.of(2L), TOKEN);
+        verifyNoMoreInteractions(catalogClient);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRefetchBookAfterEviction() {
+        when(catalogClient.getBooksByIds(List.of(1L), TOKEN)).thenReturn(List.of(cleanCode));
+
+        catalogBookCache.getBooksByIds(List.of(1L), TOKEN);
+        catalogBookCache.evict(1L, "updated");
+        catalogBookCache.getBooksByIds(List.of(1L), TOKEN);
+
+        verify(catalogClient, times(2)).getBooksByIds(List.of(1L), TOKEN);
+        assertThat(meterRegistry.get("catalog.books.invalidations").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotCacheBookFetchedBeforeAConcurrentEviction() throws Exception {
+        CountDownLatch fetching = new CountDownLatch(1);
+        CountDownLatch evicted = new CountDownLatch(1);
+        CatalogBookResponse repriced = new CatalogBookResponse(1L, "Clean Code", BigDecimal.ONE);
+        when(catalogClient.getBooksByIds(List.of(1L), TOKEN))
+                .thenAnswer(invocation -> {
+                    fetching.countDown();
+                    assertThat(evicted.await(5, TimeUnit.SECONDS)).isTrue();
+                    return List.of(cleanCode);
+                })
+                .thenReturn(List.of(repriced));
+
+        CompletableFuture<List<CatalogBookResponse>> inFlight =
+                CompletableFuture.supplyAsync(() -> catalogBookCache.getBooksByIds(List.of(1L), TOKEN));
+        assertThat(fetching.await(5, TimeUnit.SECONDS)).isTrue();
+        catalogBookCache.evict(1L, "updated");
+        evicted.countDown();
+
+        assertThat(inFlight.get(5, TimeUnit.SECONDS)).containsExactly(cleanCode);
+        assertThat(catalogBookCache.getBooksByIds(List.of(1L), TOKEN)).containsExactly(repriced);
+        verify(catalogClient, times(2)).getBooksByIds(List.of(1L), TOKEN);
+    }
+
+    @Test
+    void shouldNotCacheBooksUnknownToCatalog() {
+        when(catalogClient.getBooksByIds(List.of(99L), TOKEN)).thenReturn(List.of());
+
+        assertThat(catalogBookCache.getBooksByIds(List.of(99L), TOKEN)).isEmpty();
+        assertThat(catalogBookCache.getBooksByIds(List.of(99L), TOKEN)).isEmpty();
+
+        verify(catalogClient, times(2)).getBooksByIds(List.of(99L), TOKEN);
+    }
+}
@@ -0,0 +1,239 @@
+package com.bookstore.order.client;
+
+import com.bookstore.order.dto.CatalogBookResponse;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntUnaryOperator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Drives {@link CatalogClient} against a local stub catalog that can delay or fail its responses.
+ */
+class CatalogClientResilienceTest {
+    private static final String TOKEN = "Bearer test-token";
+    private static final String BOOK = "{\"id\":1,\"title\":\"Clean Code\",\"price\":10.00}";
+
+    private HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile IntUnaryOperator delayMillisForRequest = request -> 0;
+    private volatile int status = 200;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CatalogCallGuard guard;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/books", this::handle);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+        if (guard != null) {
+            guard.shutdown();
+        }
+    }
+
+    @Test
+    void shouldGiveUpOnSlowCatalogAfterReadTimeout() {
+        delayMillisForRequest = request -> 2_000;
+        CatalogClient client = client(defaultBreaker(), bulkhead(10), false);
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> client.getBookById(1L, TOKEN))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_GATEWAY));
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(1_500));
+    }
+
+    @Test
+    void shouldFailFastOnceCircuitOpens() {
+        status = 500;
+        CatalogClient client = client(defaultBreaker(), bulkhead(10), false);
+
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> client.getBookById(1L, TOKEN)).isInstanceOf(ResponseStatusException.class);
+        }
+        int reachedServer = requests.get();
+
+        assertThatThrownBy(() -> client.getBookById(1L, TOKEN))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+        assertThat(requests.get()).isEqualTo(reachedServer);
+        assertThat(meterRegistry.get("resilience4j.circuitbreaker.state").tag("state", "open").gauge().value())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotOpenCircuitForUnknownBooks() {
+        status = 404;
+        CircuitBreaker breaker = defaultBreaker();
+        CatalogClient client = client(breaker, bulkhead(10), false);
+
+        for (int i = 0; i < 6; i++) {
+            assertThatThrownBy(() -> client.getBookById(1L, TOKEN))
+                    .isInstanceOfSatisfying(ResponseStatusException.class,
+                            ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND));
+        }
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void shouldRejectCallsBeyondBulkheadLimit() throws Exception {
+        delayMillisForRequest = request -> 300;
+        CatalogClient client = client(defaultBreaker(), bulkhead(2), false);
+
+        ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor();
+        List<Future<CatalogBookResponse>> calls = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            calls.add(callers.submit(() -> client.getBookById(1L, TOKEN)));
+        }
+        int rejected = 0;
+        for (Future<CatalogBookResponse> call : calls) {
+            try {
+                call.get();
+            } catch (ExecutionException e) {
+                assertThat(((ResponseStatusException) e.getCause()).getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+                rejected++;
+            }
+        }
+        callers.shutdown();
+
+        assertThat(rejected).isEqualTo(3);
+        assertThat(requests.get()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldHedgeSlowRequestAndTakeFasterAnswer() {
+        delayMillisForRequest = request -> request == 1 ? 1_500 : 0;
+        CatalogClient client = client(defaultBreaker(), bulkhead(10), true);
+
+        long start = System.nanoTime();
+        CatalogBookResponse book = client.getBookById(1L, TOKEN);
+
+        assertThat(book.id()).isEqualTo(1L);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(1_000));
+        assertThat(meterRegistry.get("catalog.client.hedges").tag("outcome", "won").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldInterruptLosingRequestOnceHedgeWins() throws Exception {
+        guard = new CatalogCallGuard(defaultBreaker(), bulkhead(10), meterRegistry, true, Duration.ofMillis(50));
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch primaryInterrupted = new CountDownLatch(1);
+
+        String result = guard.call(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                try {
+                    Thread.sleep(5_000);
+                } catch (InterruptedException e) {
+                    primaryInterrupted.countDown();
+                }
+                return "primary";
+            }
+            return "hedge";
+        });
+
+        assertThat(result).isEqualTo("hedge");
+        assertThat(primaryInterrupted.await(2, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void shouldNotHedgeWithoutFreeBulkheadPermit() {
+        guard = new CatalogCallGuard(defaultBreaker(), bulkhead(1), meterRegistry, true, Duration.ofMillis(50));
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = guard.call(() -> {
+            attempts.incrementAndGet();
+            try {
+                Thread.sleep(300);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "primary";
+        });
+
+        assertThat(result).isEqualTo("primary");
+        assertThat(attempts).hasValue(1);
+        assertThat(meterRegistry.get("catalog.client.hedges").tag("outcome", "skipped").counter().count()).isEqualTo(1);
+    }
+
+    private CatalogClient client(CircuitBreaker breaker, Bulkhead bulkhead, boolean hedging) {
+        guard = new CatalogCallGuard(breaker, bulkhead, meterRegistry, hedging, Duration.ofMillis(100));
+        return new CatalogClient(new RestTemplateBuilder()
+                .connectTimeout(Duration.ofMillis(500))
+                .readTimeout(Duration.ofMillis(500))
+                .build(), guard, "http://localhost:" + server.getAddress().getPort());
+    }
+
+    private CircuitBreaker defaultBreaker() {
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .ignoreExceptions(HttpClientErrorException.class)
+                .build());
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry.circuitBreaker("catalog-service");
+    }
+
+    private static Bulkhead bulkhead(int maxConcurrentCalls) {
+        return Bulkhead.of("catalog-service", BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        int request = requests.incrementAndGet();
+        try {
+            Thread.sleep(delayMillisForRequest.applyAsInt(request));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] body = (status == 200 ? BOOK : "{}").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        } catch (IOException e) {
+            // The client gave up on this response (timeout or losing hedge).
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.bookstore.order.client;
+
+import com.bookstore.order.config.RestTemplateConfig;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks that the pooled catalog client reuses kept-alive connections and reports pool saturation.
+ */
+class CatalogHttpClientPoolTest {
+    private HttpServer server;
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private volatile long delayMillis;
+    private final CountDownLatch firstRequestReceived = new CountDownLatch(1);
+
+    private SimpleMeterRegistry meterRegistry;
+    private CloseableHttpClient httpClient;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/books", this::handle);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void stopStub() throws IOException {
+        server.stop(0);
+        if (httpClient != null) {
+            httpClient.close();
+        }
+    }
+
+    @Test
+    void shouldReuseKeptAliveConnectionForSequentialCalls() {
+        RestTemplate restTemplate = restTemplate(10, Duration.ofMillis(500));
+
+        for (int i = 0; i < 5; i++) {
+            restTemplate.getForObject(url(), String.class);
+        }
+
+        assertThat(clientPorts).hasSize(1);
+        assertThat(meterRegistry.get("catalog.client.pool.lease").timer().count()).isEqualTo(5);
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", "catalog-service").gauge().value()).isEqualTo(100);
+    }
+
+    @Test
+    void shouldTimeOutLeaseWhenRoutePoolIsSaturated() throws Exception {
+        delayMillis = 1_000;
+        RestTemplate restTemplate = restTemplate(1, Duration.ofMillis(100));
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> holder = executor.submit(() -> restTemplate.getForObject(url(), String.class));
+            firstRequestReceived.await();
+
+            assertThatThrownBy(() -> restTemplate.getForObject(url(), String.class))
+                    .isInstanceOf(ResourceAccessException.class);
+            assertThat(meterRegistry.get("httpcomponents.httpclient.pool.total.pending")
+                    .tag("httpclient", "catalog-service").gauge().value()).isZero();
+            assertThat(holder.get()).isEqualTo("[]");
+        }
+
+        assertThat(meterRegistry.get("catalog.client.pool.lease.timeouts").counter().count()).isEqualTo(1);
+    }
+
+    private RestTemplate restTemplate(int maxPerRoute, Duration leaseTimeout) {
+        httpClient = new RestTemplateConfig().catalogHttpClient(meterRegistry, Duration.ofSeconds(1),
+                Duration.ofSeconds(2), 100, maxPerRoute, leaseTimeout, Duration.ofSeconds(30), Duration.ofSeconds(30));
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+    }
+
+    private String url() {
+        return "http://localhost:" + server.getAddress().getPort() + "/books";
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+        firstRequestReceived.countDown();
+        try {
+            Thread.sleep(delayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] body = "[]".getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.bookstore.order.client;
+
+import com.bookstore.order.dto.CatalogBookResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ConcurrentCatalogFetcherTest {
+    private static final String TOKEN = "Bearer test-token";
+    private static final long ROUND_TRIP_MILLIS = 200;
+
+    @Mock private CatalogClient catalogClient;
+
+    private ConcurrentCatalogFetcher fetcher;
+
+    @AfterEach
+    void tearDown() {
+        fetcher.shutdown();
+    }
+
+    @Test
+    void shouldPriceAllItemsInAboutOneRoundTrip() {
+        fetcher = new ConcurrentCatalogFetcher(catalogClient, 20, Duration.ofSeconds(5));
+        stubSlowCatalog();
+        List<Long> ids = LongStream.rangeClosed(1, 20).boxed().toList();
+
+        long started = System.nanoTime();
+        List<CatalogBookResponse> books = fetcher.getBooksByIds(ids, TOKEN);
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - started).toMillis();
+
+        assertThat(books).extracting(CatalogBookResponse::id).containsExactlyElementsOf(ids);
+        assertThat(elapsedMillis).isLessThan(3 * ROUND_TRIP_MILLIS);
+    }
+
+    @Test
+    void shouldRespectConcurrencyCap() {
+        fetcher = new ConcurrentCatalogFetcher(catalogClient, 2, Duration.ofSeconds(5));
+        stubSlowCatalog();
+
+        long started = System.nanoTime();
+        fetcher.getBooksByIds(List.of(1L, 2L, 3L, 4L), TOKEN);
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - started).toMillis();
+
+        assertThat(elapsedMillis).isGreaterThanOrEqualTo(2 * ROUND_TRIP_MILLIS);
+    }
+
+    @Test
+    void shouldFailFastWhenDeadlineIsExceeded() {
+        fetcher = new ConcurrentCatalogFetcher(catalogClient, 4, Duration.ofMillis(ROUND_TRIP_MILLIS / 2));
+        stubSlowCatalog();
+
+        assertThatThrownBy(() -> fetcher.getBooksByIds(List.of(1L, 2L), TOKEN))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT));
+    }
+
+    @Test
+    void shouldOmitBooksUnknownToCatalog() {
+        fetcher = new ConcurrentCatalogFetcher(catalogClient, 4, Duration.ofSeconds(5));
+        when(catalogClient.getBookById(1L, TOKEN)).thenReturn(book(1L));
+        when(catalogClient.getBookById(2L, TOKEN))
+                .thenThrow(new ResponseStatusException(HttpStatus.NOT_FOUND, "Book not found in catalog-service"));
+
+        assertThat(fetcher.getBooksByIds(List.of(1L, 2L), TOKEN))
+                .extracting(CatalogBookResponse::id)
+                .containsExactly(1L);
+    }
+
+    private void stubSlowCatalog() {
+        when(catalogClient.getBookById(anyLong(), eq(TOKEN))).thenAnswer(invocation -> {
+            Thread.sleep(ROUND_TRIP_MILLIS);
+            return book(invocation.getArgument(0));
+        });
+    }
+
+    private static CatalogBookResponse book(Long id) {
+        return new CatalogBookResponse(id, "Book " + id, BigDecimal.TEN);
+    }
+}
@@ -1,5 +1,165 @@
 package com.bookstore.order.controller;
 
+import com.bookstore.order.data.entity.OrderStatus;
+import com.bookstore.order.dto.BatchOrderResponse;
+import com.bookstore.order.dto.BatchOrderResult;
+import com.bookstore.order.dto.BulkCancelRequest;
+import com.bookstore.order.dto.BulkCancelResponse;
+import com.bookstore.order.dto.OrderItemResponse;
+import com.bookstore.order.dto.OrderPageResponse;
+import com.bookstore.order.dto.OrderRequest;
+import com.bookstore.order.dto.OrderResponse;
+import com.bookstore.order.dto.OrderStatusResponse;
+import com.bookstore.order.service.AsyncOrderIntake;
+import com.bookstore.order.service.IdempotentOrderService;
+import com.bookstore.order.service.OrderReadService;
+import com.bookstore.order.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = OrderController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@ContextConfiguration(classes = {OrderController.class})
 public class OrderControllerTest {
-    // TODO
+    @Autowired private MockMvc mockMvc;
+
+    @MockitoBean
+    private OrderService orderService;
+
+    @MockitoBean
+    private OrderReadService orderReadService;
+
+    @MockitoBean
+    private IdempotentOrderService idempotentOrderService;
+
+    @MockitoBean
+    private AsyncOrderIntake asyncOrderIntake;
+
+    private OrderResponse orderResponse;
+
+    @BeforeEach
+    void setup() {
+        orderResponse = new OrderResponse(
+                11L,
+                42L,
+                BigDecimal.valueOf(59.90),
+                OrderStatus.PENDING,
+                LocalDateTime.of(2025, 11, 1, 10, 15, 30),
+                List.of(new OrderItemResponse(1L, 7L, 1, BigDecimal.valueOf(59.90)))
+        );
+    }
+
+    @Test
+    void shouldReportPerOrderResultsOfBatch() throws Exception {
+        when(orderService.createBatch(any())).thenReturn(BatchOrderResponse.of(List.of(
+                BatchOrderResult.created(0, orderResponse),
+                BatchOrderResult.failed(1, "Book not found in catalog-service: 99")
+        )));
+
+        mockMvc.perform(post("/orders/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"orders": [
+                                  {"userId": 42, "items": [{"bookId": 7, "quantity": 1}]},
+                                  {"userId": 42, "items": [{"bookId": 99, "quantity": 1}]}
+                                ]}"""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].order.id").value(11))
+                .andExpect(jsonPath("$.results[1].error").value("Book not found in catalog-service: 99"));
+    }
+
+    @Test
+    void shouldRejectEmptyBatch() throws Exception {
+        mockMvc.perform(post("/orders/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"orders\": []}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldCancelOrdersInBulk() throws Exception {
+        when(orderService.cancelAll(new BulkCancelRequest(null, List.of(11L, 12L))))
+                .thenReturn(new BulkCancelResponse(1, List.of(11L)));
+
+        mockMvc.perform(post("/orders/cancel")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"orderIds\": [11, 12]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cancelled").value(1))
+                .andExpect(jsonPath("$.orderIds[0]").value(11));
+    }
+
+    @Test
+    void shouldRejectBulkCancelWithBothSelectors() throws Exception {
+        mockMvc.perform(post("/orders/cancel")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userId\": 1, \"orderIds\": [11]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldReturnFirstPageOfOrders() throws Exception {
+        when(orderReadService.getPage(null, 20)).thenReturn(new OrderPageResponse(List.of(orderResponse), "next-token"));
+
+        mockMvc.perform(get("/orders"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(11))
+                .andExpect(jsonPath("$.content[0].items[0].bookId").value(7))
+                .andExpect(jsonPath("$.nextCursor").value("next-token"));
+    }
+
+    @Test
+    void shouldPassCursorAndSizeToService() throws Exception {
+        when(orderReadService.getPage("next-token", 5)).thenReturn(new OrderPageResponse(List.of(), null));
+
+        mockMvc.perform(get("/orders").param("cursor", "next-token").param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").isEmpty());
+    }
+
+    @Test
+    void shouldPassIdempotencyKeyHeaderToService() throws Exception {
+        when(idempotentOrderService.create(eq("retry-me"), any(OrderRequest.class))).thenReturn(orderResponse);
+
+        mockMvc.perform(post("/orders")
+                        .header("Idempotency-Key", "retry-me")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userId\": 42, \"items\": [{\"bookId\": 7, \"quantity\": 1}]}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(11));
+    }
+
+    @Test
+    void shouldAcceptAsyncOrderWithStatusLocation() throws Exception {
+        when(asyncOrderIntake.submit(any(OrderRequest.class))).thenReturn(new OrderStatusResponse(11L, OrderStatus.PENDING));
+
+        mockMvc.perform(post("/orders/async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userId\": 42, \"items\": [{\"bookId\": 7, \"quantity\": 1}]}"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "http://localhost/orders/11/status"))
+                .andExpect(jsonPath("$.orderStatus").value("PENDING"));
+    }
 }
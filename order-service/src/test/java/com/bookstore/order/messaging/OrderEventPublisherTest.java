@@ -0,0 +1,92 @@
+package com.bookstore.order.messaging;
+
+import com.bookstore.order.data.entity.OutboxEvent;
+import com.bookstore.order.messaging.publisher.OrderEventPublisher;
+import com.bookstore.order.messaging.publisher.OrderEventPublisher.PendingConfirm;
+import com.bookstore.order.messaging.publisher.PublishMode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.batch.SimpleBatchingStrategy;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderEventPublisherTest {
+    private static final int EVENTS = 2_000;
+
+    @Test
+    void shouldPackConsecutiveEventsIntoBatchMessagesConsumersCanSplit() {
+        StubBrokerTemplate template = new StubBrokerTemplate();
+        OrderEventPublisher publisher = new OrderEventPublisher(template, new SimpleMeterRegistry(), PublishMode.BATCHED, 2, 65536);
+        List<OutboxEvent> events = List.of(
+                event(1L, RabbitNames.ORDER_CREATED_ROUTING_KEY),
+                event(2L, RabbitNames.ORDER_CREATED_ROUTING_KEY),
+                event(3L, RabbitNames.ORDER_CREATED_ROUTING_KEY),
+                event(4L, "order.cancelled"));
+
+        List<PendingConfirm> confirms = publisher.publishAll(events);
+
+        assertThat(confirms).extracting(confirm -> confirm.events().size()).containsExactly(2, 1, 1);
+        List<String> payloads = new ArrayList<>();
+        new SimpleBatchingStrategy(0, 0, 0).deBatch(template.sent.getFirst(),
+                fragment -> payloads.add(new String(fragment.getBody(), StandardCharsets.UTF_8)));
+        assertThat(payloads).containsExactly("{\"orderId\":1}", "{\"orderId\":2}");
+    }
+
+    @Test
+    void batchedModeShouldSendOneFramePerBatchAndConfirmEveryEvent() {
+        List<OutboxEvent> events = LongStream.rangeClosed(1, EVENTS)
+                .mapToObj(id -> event(id, RabbitNames.ORDER_CREATED_ROUTING_KEY))
+                .toList();
+
+        StubBrokerTemplate individual = publish(PublishMode.INDIVIDUAL, events);
+        StubBrokerTemplate batched = publish(PublishMode.BATCHED, events);
+
+        assertThat(individual.sent).hasSize(EVENTS);
+        assertThat(batched.sent).hasSize(EVENTS / 50);
+        assertThat(batched.messages()).isEqualTo(EVENTS);
+    }
+
+    private StubBrokerTemplate publish(PublishMode mode, List<OutboxEvent> events) {
+        StubBrokerTemplate template = new StubBrokerTemplate();
+        OrderEventPublisher publisher = new OrderEventPublisher(template, new SimpleMeterRegistry(), mode, 50, 65536);
+
+        List<PendingConfirm> confirms = publisher.publishAll(events);
+
+        assertThat(confirms).allSatisfy(confirm -> assertThat(confirm.correlationData().getFuture()).isCompleted());
+        assertThat(confirms.stream().mapToInt(confirm -> confirm.events().size()).sum()).isEqualTo(events.size());
+        return template;
+    }
+
+    private static OutboxEvent event(Long id, String routingKey) {
+        return new OutboxEvent(id, id, "com.bookstore.order.messaging.event.OrderCreatedEvent", routingKey,
+                "{\"orderId\":" + id + "}", LocalDateTime.now(), null, 0, null);
+    }
+
+    /** Records every frame written and acks it right away, like a broker would. */
+    private static class StubBrokerTemplate extends RabbitTemplate {
+        private final List<Message> sent = new ArrayList<>();
+
+        @Override
+        public void send(String exchange, String routingKey, Message message, CorrelationData correlationData) {
+            sent.add(message);
+            correlationData.getFuture().complete(new CorrelationData.Confirm(true, null));
+        }
+
+        /** Events carried by the frames, counting each fragment of a batch message. */
+        int messages() {
+            SimpleBatchingStrategy strategy = new SimpleBatchingStrategy(0, 0, 0);
+            int[] count = {0};
+            sent.forEach(message -> strategy.deBatch(message, fragment -> count[0]++));
+            return count[0];
+        }
+    }
+}
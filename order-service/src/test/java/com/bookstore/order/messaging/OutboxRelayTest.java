@@ -0,0 +1,154 @@
+package com.bookstore.order.messaging;
+
+import com.bookstore.order.data.entity.OutboxEvent;
+import com.bookstore.order.data.repository.OutboxEventRepository;
+import com.bookstore.order.messaging.outbox.OutboxRelay;
+import com.bookstore.order.messaging.publisher.OrderEventPublisher;
+import com.bookstore.order.messaging.publisher.OrderEventPublisher.PendingConfirm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.ReturnedMessage;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+    @Mock private OutboxEventRepository outboxEventRepository;
+    @Mock private OrderEventPublisher orderEventPublisher;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        outboxRelay = new OutboxRelay(outboxEventRepository, orderEventPublisher, transactionManager, meterRegistry,
+                10, 3, Duration.ofMillis(200), Duration.ofDays(7));
+    }
+
+    @Test
+    void shouldMarkOnlyConfirmedEventsAsSent() {
+        OutboxEvent acked = event(1L);
+        OutboxEvent nacked = event(2L);
+        OutboxEvent unconfirmed = event(3L);
+        when(outboxEventRepository.claimUnsent(Limit.of(10))).thenReturn(List.of(acked, nacked, unconfirmed));
+        when(orderEventPublisher.publishAll(List.of(acked, nacked, unconfirmed))).thenReturn(List.of(
+                new PendingConfirm(List.of(acked), confirmed(acked, true)),
+                new PendingConfirm(List.of(nacked), confirmed(nacked, false)),
+                new PendingConfirm(List.of(unconfirmed), new CorrelationData("3"))
+        ));
+        when(outboxEventRepository.countBySentAtIsNullAndParkedAtIsNull()).thenReturn(2L);
+        when(outboxEventRepository.findFirstBySentAtIsNullAndParkedAtIsNullOrderByIdAsc()).thenReturn(Optional.of(nacked));
+
+        outboxRelay.relay();
+
+        verify(outboxEventRepository).markSent(eq(List.of(1L)), any(LocalDateTime.class));
+        assertThat(meterRegistry.get("order.outbox.published").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("order.outbox.failed").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("order.outbox.pending").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldDoNothingWhenOutboxIsEmpty() {
+        when(outboxEventRepository.claimUnsent(Limit.of(10))).thenReturn(List.of());
+
+        outboxRelay.relay();
+
+        verify(orderEventPublisher, never()).publishAll(any());
+        verify(outboxEventRepository, never()).markSent(anyCollection(), any());
+    }
+
+    @Test
+    void shouldMarkEveryEventOfAConfirmedBatchMessage() {
+        OutboxEvent first = event(1L);
+        OutboxEvent second = event(2L);
+        when(outboxEventRepository.claimUnsent(Limit.of(10))).thenReturn(List.of(first, second));
+        when(orderEventPublisher.publishAll(List.of(first, second))).thenReturn(List.of(
+                new PendingConfirm(List.of(first, second), confirmed(first, true))));
+
+        outboxRelay.relay();
+
+        verify(outboxEventRepository).markSent(eq(List.of(1L, 2L)), any(LocalDateTime.class));
+        assertThat(meterRegistry.get("order.outbox.published").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldKeepDrainingWhileBatchesAreFull() {
+        List<OutboxEvent> full = LongStream.rangeClosed(1, 10).mapToObj(OutboxRelayTest::event).toList();
+        when(outboxEventRepository.claimUnsent(Limit.of(10))).thenReturn(full).thenReturn(List.of());
+        when(orderEventPublisher.publishAll(full)).thenReturn(full.stream()
+                .map(event -> new PendingConfirm(List.of(event), confirmed(event, true)))
+                .toList());
+
+        outboxRelay.relay();
+
+        verify(outboxEventRepository, times(2)).claimUnsent(Limit.of(10));
+    }
+
+    @Test
+    void shouldStopDrainingWhenAFullBatchIsNotConfirmed() {
+        List<OutboxEvent> full = LongStream.rangeClosed(1, 10).mapToObj(OutboxRelayTest::event).toList();
+        when(outboxEventRepository.claimUnsent(Limit.of(10))).thenReturn(full);
+        when(orderEventPublisher.publishAll(full)).thenReturn(full.stream()
+                .map(event -> new PendingConfirm(List.of(event), confirmed(event, event.getId() != 10L)))
+                .toList());
+
+        outboxRelay.relay();
+
+        verify(outboxEventRepository).claimUnsent(Limit.of(10));
+    }
+
+    @Test
+    void shouldCountReturnsAndParkEventsThatKeepGettingReturned() {
+        OutboxEvent unroutable = event(1L);
+        OutboxEvent nacked = event(2L);
+        CorrelationData returned = new CorrelationData("1");
+        returned.setReturned(new ReturnedMessage(new Message(new byte[0]), 312, "NO_ROUTE",
+                RabbitNames.ORDER_EXCHANGE, RabbitNames.ORDER_CANCELLED_ROUTING_KEY));
+        returned.getFuture().complete(new CorrelationData.Confirm(true, null));
+        when(outboxEventRepository.claimUnsent(Limit.of(10))).thenReturn(List.of(unroutable, nacked));
+        when(orderEventPublisher.publishAll(List.of(unroutable, nacked))).thenReturn(List.of(
+                new PendingConfirm(List.of(unroutable), returned),
+                new PendingConfirm(List.of(nacked), confirmed(nacked, false))));
+        when(outboxEventRepository.parkExhausted(eq(List.of(1L)), eq(3), any(LocalDateTime.class))).thenReturn(1);
+
+        outboxRelay.relay();
+
+        verify(outboxEventRepository).incrementAttempts(List.of(1L));
+        verify(outboxEventRepository, never()).markSent(anyCollection(), any());
+        assertThat(meterRegistry.get("order.outbox.parked.total").counter().count()).isEqualTo(1);
+    }
+
+    private static OutboxEvent event(Long id) {
+        return new OutboxEvent(id, 100L + id, "OrderCreatedEvent", RabbitNames.ORDER_CREATED_ROUTING_KEY,
+                "{}", LocalDateTime.now(), null, 0, null);
+    }
+
+    private static CorrelationData confirmed(OutboxEvent event, boolean ack) {
+        CorrelationData correlationData = new CorrelationData(String.valueOf(event.getId()));
+        correlationData.getFuture().complete(new CorrelationData.Confirm(ack, ack ? null : "nack"));
+        return correlationData;
+    }
+}
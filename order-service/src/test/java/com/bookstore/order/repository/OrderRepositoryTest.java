@@ -0,0 +1,121 @@
+package com.bookstore.order.repository;
+
+import com.bookstore.order.data.entity.Order;
+import com.bookstore.order.data.entity.OrderItem;
+import com.bookstore.order.data.entity.OrderStatus;
+import com.bookstore.order.data.repository.OrderItemRepository;
+import com.bookstore.order.data.repository.OrderRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+public class OrderRepositoryTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 11, 1, 10, 0);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Test
+    void shouldPageNewestFirstUsingKeyset() {
+        Order oldest = saveOrder(1L, NOW.minusDays(2));
+        Order tiedFirst = saveOrder(1L, NOW);
+        Order tiedSecond = saveOrder(2L, NOW);
+        Order newest = saveOrder(2L, NOW.plusDays(1));
+
+        List<Order> firstPage = orderRepository.findNewest(Limit.of(2));
+        Order last = firstPage.getLast();
+        List<Order> secondPage = orderRepository.findNewestBefore(last.getCreatedAt(), last.getId(), Limit.of(2));
+
+        assertThat(firstPage).extracting(Order::getId).containsExactly(newest.getId(), tiedSecond.getId());
+        assertThat(secondPage).extracting(Order::getId).containsExactly(tiedFirst.getId(), oldest.getId());
+    }
+
+    @Test
+    void shouldPageOneUsersOrdersUsingKeyset() {
+        Order oldest = saveOrder(1L, NOW.minusDays(2));
+        saveOrder(2L, NOW.minusDays(1));
+        Order middle = saveOrder(1L, NOW);
+        Order newest = saveOrder(1L, NOW.plusDays(1));
+        saveOrder(2L, NOW.plusDays(2));
+
+        List<Order> firstPage = orderRepository.findNewestByUser(1L, Limit.of(2));
+        Order last = firstPage.getLast();
+        List<Order> secondPage = orderRepository.findNewestByUserBefore(1L, last.getCreatedAt(), last.getId(), Limit.of(2));
+
+        assertThat(firstPage).extracting(Order::getId).containsExactly(newest.getId(), middle.getId());
+        assertThat(secondPage).extracting(Order::getId).containsExactly(oldest.getId());
+    }
+
+    @Test
+    void shouldFindItemsOfSeveralOrdersAtOnce() {
+        Order first = saveOrder(1L, NOW);
+        Order second = saveOrder(1L, NOW);
+        Order other = saveOrder(1L, NOW);
+        orderItemRepository.saveAll(List.of(
+                new OrderItem(null, first.getId(), 10L, 1, BigDecimal.TEN),
+                new OrderItem(null, second.getId(), 11L, 2, BigDecimal.ONE),
+                new OrderItem(null, other.getId(), 12L, 3, BigDecimal.ONE)
+        ));
+
+        List<OrderItem> items = orderItemRepository.findByOrderIdIn(List.of(first.getId(), second.getId()));
+
+        assertThat(items).extracting(OrderItem::getBookId).containsExactlyInAnyOrder(10L, 11L);
+    }
+
+    @Test
+    void shouldApplyStatusTransitionOnlyFromExpectedStatus() {
+        Order order = saveOrder(1L, NOW);
+
+        int cancelled = orderRepository.transition(order.getId(), List.of(OrderStatus.PENDING), OrderStatus.CANCELLED);
+        int cancelledAgain = orderRepository.transition(order.getId(), List.of(OrderStatus.PENDING), OrderStatus.CANCELLED);
+
+        assertThat(cancelled).isEqualTo(1);
+        assertThat(cancelledAgain).isZero();
+        assertThat(orderRepository.findById(order.getId()).orElseThrow().getOrderStatus()).isEqualTo(OrderStatus.CANCELLED);
+    }
+
+    @Test
+    void shouldLockOnlyOrdersInGivenStatuses() {
+        Order pending = saveOrder(1L, NOW);
+        Order completed = orderRepository.save(new Order(null, 1L, BigDecimal.TEN, OrderStatus.COMPLETED, NOW, false));
+        saveOrder(2L, NOW);
+
+        List<Order> locked = orderRepository.lockByUserAndStatus(1L, List.of(OrderStatus.PENDING, OrderStatus.CONFIRMED));
+        int updated = orderRepository.transitionAll(List.of(pending.getId(), completed.getId()),
+                List.of(OrderStatus.PENDING, OrderStatus.CONFIRMED), OrderStatus.CANCELLED);
+
+        assertThat(locked).extracting(Order::getId).containsExactly(pending.getId());
+        assertThat(updated).isEqualTo(1);
+        assertThat(orderRepository.findById(completed.getId()).orElseThrow().getOrderStatus()).isEqualTo(OrderStatus.COMPLETED);
+    }
+
+    @Test
+    void shouldFindOnlyUnpricedAsyncOrdersOlderThanCutoff() {
+        Order stale = orderRepository.save(new Order(null, 1L, BigDecimal.ZERO, OrderStatus.PENDING, NOW.minusHours(1), true));
+        orderRepository.save(new Order(null, 1L, BigDecimal.ZERO, OrderStatus.PENDING, NOW, true));
+        saveOrder(1L, NOW.minusHours(1));
+        Order confirmed = orderRepository.save(new Order(null, 1L, BigDecimal.ZERO, OrderStatus.PENDING, NOW.minusHours(1), true));
+        orderRepository.confirm(confirmed.getId(), BigDecimal.TEN);
+
+        List<Long> ids = orderRepository.findAwaitingPricingBefore(NOW.minusMinutes(10), Limit.of(10));
+
+        assertThat(ids).containsExactly(stale.getId());
+    }
+
+    private Order saveOrder(Long userId, LocalDateTime createdAt) {
+        return orderRepository.save(new Order(null, userId, BigDecimal.TEN, OrderStatus.PENDING, createdAt, false));
+    }
+}
@@ -0,0 +1,64 @@
+package com.bookstore.order.repository;
+
+import com.bookstore.order.data.entity.OutboxEvent;
+import com.bookstore.order.data.repository.OutboxEventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+public class OutboxEventRepositoryTest {
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Test
+    void shouldClaimOldestUnsentEventsFirst() {
+        OutboxEvent sent = save(LocalDateTime.now());
+        OutboxEvent first = save(null);
+        OutboxEvent second = save(null);
+        save(null);
+
+        List<OutboxEvent> claimed = outboxEventRepository.claimUnsent(Limit.of(2));
+
+        assertThat(claimed).extracting(OutboxEvent::getId).containsExactly(first.getId(), second.getId());
+        assertThat(claimed).extracting(OutboxEvent::getId).doesNotContain(sent.getId());
+    }
+
+    @Test
+    void shouldMarkEventsAsSent() {
+        OutboxEvent event = save(null);
+
+        outboxEventRepository.markSent(List.of(event.getId()), LocalDateTime.now());
+
+        assertThat(outboxEventRepository.countBySentAtIsNullAndParkedAtIsNull()).isZero();
+    }
+
+    @Test
+    void shouldParkOnlyEventsOutOfAttemptsAndStopClaimingThem() {
+        OutboxEvent returnedOnce = save(null);
+        OutboxEvent returnedTwice = save(null);
+        outboxEventRepository.incrementAttempts(List.of(returnedOnce.getId(), returnedTwice.getId()));
+        outboxEventRepository.incrementAttempts(List.of(returnedTwice.getId()));
+
+        int parked = outboxEventRepository.parkExhausted(List.of(returnedOnce.getId(), returnedTwice.getId()), 2,
+                LocalDateTime.now());
+
+        assertThat(parked).isOne();
+        assertThat(outboxEventRepository.claimUnsent(Limit.of(10)))
+                .extracting(OutboxEvent::getId).containsExactly(returnedOnce.getId());
+        assertThat(outboxEventRepository.countByParkedAtIsNotNull()).isOne();
+    }
+
+    private OutboxEvent save(LocalDateTime sentAt) {
+        return outboxEventRepository.save(new OutboxEvent(null, 1L, "OrderCreatedEvent", "order.created",
+                "{\"orderId\":1}", LocalDateTime.now(), sentAt, 0, null));
+    }
+}
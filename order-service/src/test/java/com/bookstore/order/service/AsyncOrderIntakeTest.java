@@ -0,0 +1,125 @@
+package com.bookstore.order.service;
+
+import com.bookstore.order.dto.OrderItemRequest;
+import com.bookstore.order.dto.OrderRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncOrderIntakeTest {
+    private static final String TOKEN = "Bearer test-token";
+
+    @Mock private OrderService orderService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AsyncOrderIntake asyncOrderIntake;
+    private final OrderRequest request = new OrderRequest(7L, List.of(new OrderItemRequest(1L, 1)));
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        asyncOrderIntake = new AsyncOrderIntake(orderService, new OrderMetrics(meterRegistry), meterRegistry, 1, 1,
+                Duration.ofMinutes(10));
+        lenient().when(orderService.getAuthHeader()).thenReturn(TOKEN);
+    }
+
+    @AfterEach
+    void tearDown() {
+        asyncOrderIntake.shutdown();
+    }
+
+    @Test
+    void shouldConfirmAcceptedOrderOnWorker() {
+        when(orderService.accept(request)).thenReturn(11L);
+
+        assertThat(asyncOrderIntake.submit(request).id()).isEqualTo(11L);
+
+        verify(orderService, timeout(2000)).confirm(11L, TOKEN);
+        verify(orderService, never()).fail(anyLong());
+    }
+
+    @Test
+    void shouldMarkOrderFailedWhenPricingFails() {
+        when(orderService.accept(request)).thenReturn(11L);
+        doThrow(new IllegalStateException("catalog down")).when(orderService).confirm(11L, TOKEN);
+
+        asyncOrderIntake.submit(request);
+
+        verify(orderService, timeout(2000)).fail(11L);
+        assertThat(meterRegistry.get("order.outcomes").tags("source", "async", "outcome", "failed").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shouldFailAcceptedOrderThatCouldNotBeQueued() {
+        when(orderService.accept(request)).thenReturn(11L);
+        asyncOrderIntake.shutdown();
+
+        assertThatThrownBy(() -> asyncOrderIntake.submit(request)).isInstanceOf(RejectedExecutionException.class);
+
+        verify(orderService).fail(11L);
+        assertThat(meterRegistry.get("order.async.in-flight").gauge().value()).isZero();
+    }
+
+    @Test
+    void shouldFailOrdersLeftUnpricedPastTheThreshold() {
+        when(orderService.failAwaitingPricingBefore(any(LocalDateTime.class), anyInt())).thenReturn(List.of(11L));
+        LocalDateTime before = LocalDateTime.now();
+
+        asyncOrderIntake.failStaleOrders();
+
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(orderService).failAwaitingPricingBefore(cutoff.capture(), anyInt());
+        assertThat(cutoff.getValue()).isBetween(before.minusMinutes(10), LocalDateTime.now().minusMinutes(10));
+    }
+
+    @Test
+    void shouldRejectWith429WhenWorkerAndQueueAreFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderService.accept(request)).thenReturn(11L, 12L);
+        doAnswer(invocation -> release.await(5, TimeUnit.SECONDS)).when(orderService).confirm(anyLong(), any());
+
+        asyncOrderIntake.submit(request);
+        asyncOrderIntake.submit(request);
+
+        assertThatThrownBy(() -> asyncOrderIntake.submit(request))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS));
+        verify(orderService, times(2)).accept(request);
+        assertThat(meterRegistry.get("order.async.in-flight").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("order.outcomes").tags("source", "async", "outcome", "rejected").counter().count())
+                .isEqualTo(1);
+
+        release.countDown();
+        verify(orderService, timeout(2000).times(2)).confirm(anyLong(), any());
+    }
+}
@@ -0,0 +1,149 @@
+package com.bookstore.order.service;
+
+import com.bookstore.order.data.entity.IdempotencyKey;
+import com.bookstore.order.data.entity.OrderStatus;
+import com.bookstore.order.data.repository.IdempotencyKeyRepository;
+import com.bookstore.order.dto.OrderItemRequest;
+import com.bookstore.order.dto.OrderRequest;
+import com.bookstore.order.dto.OrderResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotentOrderServiceTest {
+    private static final String KEY = "retry-me";
+
+    @Mock private OrderService orderService;
+    @Mock private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private IdempotentOrderService idempotentOrderService;
+    private OrderRequest request;
+    private OrderResponse response;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        idempotentOrderService = new IdempotentOrderService(orderService, idempotencyKeyRepository,
+                new OrderMetrics(meterRegistry),
+                100, Duration.ofMinutes(5), Duration.ofHours(24));
+        request = new OrderRequest(7L, List.of(new OrderItemRequest(1L, 2)));
+        response = new OrderResponse(11L, 7L, BigDecimal.TEN, OrderStatus.PENDING, LocalDateTime.now(), List.of());
+    }
+
+    @Test
+    void shouldCreateOnceAndReplayRetriesFromMemory() {
+        when(orderService.create(eq(request), eq(KEY), anyString())).thenReturn(response);
+
+        assertThat(idempotentOrderService.create(KEY, request)).isEqualTo(response);
+        assertThat(idempotentOrderService.create(KEY, request)).isEqualTo(response);
+
+        verify(orderService, times(1)).create(eq(request), eq(KEY), anyString());
+        verify(idempotencyKeyRepository, times(1)).findByKey(KEY);
+    }
+
+    @Test
+    void shouldReplayKeyPersistedByAnEarlierInstance() {
+        when(idempotencyKeyRepository.findByKey(KEY)).thenReturn(Optional.of(storedKey(request)));
+        when(orderService.getById(11L)).thenReturn(response);
+
+        assertThat(idempotentOrderService.create(KEY, request)).isEqualTo(response);
+        verify(orderService, never()).create(any(), anyString(), anyString());
+    }
+
+    @Test
+    void shouldRejectKeyReusedWithDifferentRequest() {
+        when(orderService.create(eq(request), eq(KEY), anyString())).thenReturn(response);
+        idempotentOrderService.create(KEY, request);
+
+        OrderRequest other = new OrderRequest(7L, List.of(new OrderItemRequest(2L, 1)));
+        assertThatThrownBy(() -> idempotentOrderService.create(KEY, other))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY));
+        assertThat(meterRegistry.get("order.outcomes").tags("source", "sync", "outcome", "rejected").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shouldCoalesceConcurrentRequestsWithSameKey() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderService.create(eq(request), eq(KEY), anyString())).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return response;
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<OrderResponse> first = executor.submit(() -> idempotentOrderService.create(KEY, request));
+            assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+            List<Future<OrderResponse>> retries = List.of(
+                    executor.submit(() -> idempotentOrderService.create(KEY, request)),
+                    executor.submit(() -> idempotentOrderService.create(KEY, request)));
+            Thread.sleep(100);
+            release.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(response);
+            for (Future<OrderResponse> retry : retries) {
+                assertThat(retry.get(5, TimeUnit.SECONDS)).isEqualTo(response);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(orderService, times(1)).create(any(), anyString(), anyString());
+    }
+
+    @Test
+    void shouldReplayWinnerWhenAnotherInstanceCommittedTheKeyFirst() {
+        when(orderService.create(eq(request), eq(KEY), anyString()))
+                .thenThrow(new DataIntegrityViolationException("uk_idempotency_keys_key"));
+        when(idempotencyKeyRepository.findByKey(KEY))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(storedKey(request)));
+        when(orderService.getById(11L)).thenReturn(response);
+
+        assertThat(idempotentOrderService.create(KEY, request)).isEqualTo(response);
+    }
+
+    @Test
+    void shouldBypassIdempotencyWithoutKey() {
+        when(orderService.create(request)).thenReturn(response);
+
+        idempotentOrderService.create(null, request);
+
+        verify(idempotencyKeyRepository, never()).findByKey(any());
+    }
+
+    private static IdempotencyKey storedKey(OrderRequest orderRequest) {
+        return new IdempotencyKey(1L, KEY, IdempotentOrderService.requestHash(orderRequest), 11L, LocalDateTime.now());
+    }
+}
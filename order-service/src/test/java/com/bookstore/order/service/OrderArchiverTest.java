@@ -0,0 +1,91 @@
+package com.bookstore.order.service;
+
+import com.bookstore.order.data.entity.ArchivedOrder;
+import com.bookstore.order.data.entity.Order;
+import com.bookstore.order.data.entity.OrderItem;
+import com.bookstore.order.data.entity.OrderStatus;
+import com.bookstore.order.data.mapper.OrderItemMapperImpl;
+import com.bookstore.order.data.mapper.OrderMapperImpl;
+import com.bookstore.order.data.repository.ArchivedOrderRepository;
+import com.bookstore.order.data.repository.OrderItemRepository;
+import com.bookstore.order.data.repository.OrderRepository;
+import com.bookstore.order.dto.OrderItemResponse;
+import com.bookstore.order.dto.OrderResponse;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest(properties = {"order.archive.enabled=true", "order.archive.chunk-size=2"})
+@AutoConfigureJson
+@ActiveProfiles("test")
+@Import({OrderArchiver.class, OrderArchive.class, OrderMapperImpl.class, OrderItemMapperImpl.class})
+class OrderArchiverTest {
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Autowired private OrderArchiver orderArchiver;
+    @Autowired private OrderArchive orderArchive;
+    @Autowired private OrderRepository orderRepository;
+    @Autowired private OrderItemRepository orderItemRepository;
+    @Autowired private ArchivedOrderRepository archivedOrderRepository;
+    @Autowired private EntityManager entityManager;
+
+    @MockitoBean private UserOrderPageCache userOrderPageCache;
+
+    @Test
+    void shouldMoveOrdersOlderThanCutoffIntoCompressedArchive() {
+        Order old = saveOrder(7L, LocalDateTime.of(2024, 11, 20, 10, 0));
+        saveItem(old, 10L, 2);
+        saveItem(old, 11L, 1);
+        Order olderStill = saveOrder(8L, LocalDateTime.of(2024, 3, 1, 8, 0));
+        Order recent = saveOrder(7L, CUTOFF);
+        saveItem(recent, 12L, 1);
+        entityManager.flush();
+
+        long archived = orderArchiver.archiveBefore(CUTOFF);
+
+        assertThat(archived).isEqualTo(2);
+        assertThat(orderRepository.findAll()).extracting(Order::getId).containsExactly(recent.getId());
+        assertThat(orderItemRepository.findAll()).extracting(OrderItem::getBookId).containsExactly(12L);
+        ArchivedOrder row = archivedOrderRepository.findById(old.getId()).orElseThrow();
+        assertThat(row.getArchiveMonth()).isEqualTo(LocalDate.of(2024, 11, 1));
+        OrderResponse restored = orderArchive.find(old.getId()).orElseThrow();
+        assertThat(restored.createdAt()).isEqualTo(old.getCreatedAt());
+        assertThat(restored.items()).extracting(OrderItemResponse::bookId, OrderItemResponse::quantity)
+                .containsExactlyInAnyOrder(tuple(10L, 2), tuple(11L, 1));
+        assertThat(orderArchive.find(olderStill.getId())).isPresent();
+        verify(userOrderPageCache).evictAfterCommit(7L);
+    }
+
+    @Test
+    void shouldArchiveInChunksUntilNothingIsLeft() {
+        for (int i = 0; i < 5; i++) {
+            saveOrder(7L, CUTOFF.minusDays(i + 1));
+        }
+        entityManager.flush();
+
+        assertThat(orderArchiver.archiveBefore(CUTOFF)).isEqualTo(5);
+        assertThat(orderArchiver.archiveBefore(CUTOFF)).isZero();
+        assertThat(archivedOrderRepository.count()).isEqualTo(5);
+    }
+
+    private Order saveOrder(Long userId, LocalDateTime createdAt) {
+        return orderRepository.save(new Order(null, userId, BigDecimal.TEN, OrderStatus.COMPLETED, createdAt, false));
+    }
+
+    private void saveItem(Order order, Long bookId, int quantity) {
+        orderItemRepository.save(new OrderItem(null, order.getId(), bookId, quantity, BigDecimal.TEN));
+    }
+}
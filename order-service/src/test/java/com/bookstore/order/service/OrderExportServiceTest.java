@@ -0,0 +1,91 @@
+package com.bookstore.order.service;
+
+import com.bookstore.order.data.entity.Order;
+import com.bookstore.order.data.entity.OrderItem;
+import com.bookstore.order.data.entity.OrderStatus;
+import com.bookstore.order.data.mapper.OrderItemMapperImpl;
+import com.bookstore.order.data.mapper.OrderMapperImpl;
+import com.bookstore.order.data.repository.OrderItemRepository;
+import com.bookstore.order.data.repository.OrderRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureJson
+@ActiveProfiles("test")
+@Import({OrderExportService.class, OrderMapperImpl.class, OrderItemMapperImpl.class})
+class OrderExportServiceTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 11, 1, 10, 0);
+
+    @Autowired private OrderExportService orderExportService;
+    @Autowired private OrderRepository orderRepository;
+    @Autowired private OrderItemRepository orderItemRepository;
+    @Autowired private ObjectMapper objectMapper;
+
+    @Test
+    void shouldWriteOneLinePerOrderWithItsItems() throws Exception {
+        Order withTwoItems = saveOrder(1L, NOW);
+        Order withoutItems = saveOrder(1L, NOW);
+        Order withOneItem = saveOrder(2L, NOW);
+        saveItem(withOneItem, 30L);
+        saveItem(withTwoItems, 10L);
+        saveItem(withTwoItems, 11L);
+
+        List<JsonNode> lines = export(null, null, null);
+
+        assertThat(lines).extracting(line -> line.get("id").asLong())
+                .containsExactly(withTwoItems.getId(), withoutItems.getId(), withOneItem.getId());
+        assertThat(lines.get(0).get("items")).extracting(item -> item.get("bookId").asLong()).containsExactly(10L, 11L);
+        assertThat(lines.get(1).get("items")).isEmpty();
+        assertThat(lines.get(2).get("items")).extracting(item -> item.get("bookId").asLong()).containsExactly(30L);
+    }
+
+    @Test
+    void shouldApplyCreatedAtAndUserFilters() throws Exception {
+        saveOrder(1L, NOW.minusDays(1));
+        Order match = saveOrder(1L, NOW);
+        saveOrder(2L, NOW);
+        saveOrder(1L, NOW.plusDays(1));
+        saveItem(match, 10L);
+
+        List<JsonNode> lines = export(NOW, NOW.plusHours(1), 1L);
+
+        assertThat(lines).extracting(line -> line.get("id").asLong()).containsExactly(match.getId());
+        assertThat(lines.getFirst().get("items")).hasSize(1);
+    }
+
+    private List<JsonNode> export(LocalDateTime since, LocalDateTime until, Long userId) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        orderExportService.export(since, until, userId, out);
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isBlank()) {
+                lines.add(objectMapper.readTree(line));
+            }
+        }
+        return lines;
+    }
+
+    private Order saveOrder(Long userId, LocalDateTime createdAt) {
+        return orderRepository.save(new Order(null, userId, BigDecimal.TEN, OrderStatus.PENDING, createdAt, false));
+    }
+
+    private void saveItem(Order order, Long bookId) {
+        orderItemRepository.save(new OrderItem(null, order.getId(), bookId, 1, BigDecimal.TEN));
+    }
+}
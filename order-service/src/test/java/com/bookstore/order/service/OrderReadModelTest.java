@@ -0,0 +1,152 @@
+package com.bookstore.order.service;
+
+import com.bookstore.order.data.entity.Order;
+import com.bookstore.order.data.entity.OrderItem;
+import com.bookstore.order.data.entity.OrderStatus;
+import com.bookstore.order.data.mapper.OrderItemMapperImpl;
+import com.bookstore.order.data.repository.OrderItemRepository;
+import com.bookstore.order.data.repository.OrderRepository;
+import com.bookstore.order.data.repository.OrderViewRepository;
+import com.bookstore.order.data.repository.OrderViewRow;
+import com.bookstore.order.dto.OrderPageResponse;
+import com.bookstore.order.dto.OrderResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@AutoConfigureJson
+@ActiveProfiles("test")
+@Import({OrderViewProjector.class, OrderReadService.class, OrderItemMapperImpl.class})
+class OrderReadModelTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 11, 1, 10, 0);
+
+    @Autowired private OrderViewProjector orderViewProjector;
+    @Autowired private OrderReadService orderReadService;
+    @Autowired private OrderRepository orderRepository;
+    @Autowired private OrderItemRepository orderItemRepository;
+    @Autowired private OrderViewRepository orderViewRepository;
+    @Autowired private EntityManager entityManager;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private ObjectMapper objectMapper;
+
+    @MockitoBean private OrderService orderService;
+    @MockitoBean private OrderExportService orderExportService;
+    @MockitoBean private UserOrderPageCache userOrderPageCache;
+
+    @Test
+    void shouldServeProjectedOrderWithoutTouchingSourceTables() {
+        Order order = saveOrder(7L, NOW);
+        saveItem(order, 10L);
+        saveItem(order, 11L);
+
+        orderViewProjector.project(order.getId());
+        flushAndClear();
+        OrderResponse response = orderReadService.getById(order.getId());
+
+        assertThat(response.userId()).isEqualTo(7L);
+        assertThat(response.items()).extracting(item -> item.bookId()).containsExactly(10L, 11L);
+        verify(orderService, never()).getById(any());
+    }
+
+    @Test
+    void shouldFallBackToSourceTablesForOrdersNotProjectedYet() {
+        Order order = saveOrder(7L, NOW);
+        OrderResponse fromSource = new OrderResponse(order.getId(), 7L, BigDecimal.TEN, OrderStatus.PENDING, NOW, List.of());
+        when(orderService.getById(order.getId())).thenReturn(fromSource);
+
+        assertThat(orderReadService.getById(order.getId())).isEqualTo(fromSource);
+    }
+
+    @Test
+    void shouldRebuildViewInChunksAndPageIt() {
+        Order oldest = saveOrder(1L, NOW.minusDays(1));
+        Order middle = saveOrder(2L, NOW);
+        Order newest = saveOrder(1L, NOW.plusDays(1));
+        saveItem(middle, 20L);
+
+        long rebuilt = new OrderViewRebuilder(orderRepository, orderViewProjector, entityManager, transactionManager, 2)
+                .rebuild();
+        OrderPageResponse firstPage = orderReadService.getPage(null, 2);
+        OrderPageResponse secondPage = orderReadService.getPage(firstPage.nextCursor(), 2);
+
+        assertThat(rebuilt).isEqualTo(3);
+        assertThat(firstPage.content()).extracting(OrderResponse::id).containsExactly(newest.getId(), middle.getId());
+        assertThat(firstPage.content().get(1).items()).extracting(item -> item.bookId()).containsExactly(20L);
+        assertThat(secondPage.content()).extracting(OrderResponse::id).containsExactly(oldest.getId());
+        assertThat(secondPage.nextCursor()).isNull();
+    }
+
+    @Test
+    void shouldReconcileViewRowsWhoseProjectionWasLost() {
+        Order changed = saveOrder(7L, NOW);
+        Order unprojected = saveOrder(7L, NOW);
+        Order removed = saveOrder(7L, NOW);
+        Order current = saveOrder(7L, NOW);
+        List.of(changed, removed, current).forEach(order -> orderViewProjector.project(order.getId()));
+        flushAndClear();
+        orderRepository.transition(changed.getId(), List.of(OrderStatus.PENDING), OrderStatus.CANCELLED);
+        orderRepository.deleteById(removed.getId());
+        flushAndClear();
+
+        long repaired = new OrderViewReconciler(orderViewRepository, orderViewProjector, transactionManager,
+                new SimpleMeterRegistry(), 2).reconcile();
+        flushAndClear();
+
+        assertThat(repaired).isEqualTo(3);
+        assertThat(orderViewRepository.findRowById(changed.getId())).get()
+                .extracting(OrderViewRow::orderStatus).isEqualTo(OrderStatus.CANCELLED);
+        assertThat(orderViewRepository.existsById(unprojected.getId())).isTrue();
+        assertThat(orderViewRepository.existsById(removed.getId())).isFalse();
+    }
+
+    @Test
+    void shouldExportStoredItemsJsonVerbatim() throws Exception {
+        Order order = saveOrder(7L, NOW);
+        saveItem(order, 10L);
+        orderViewProjector.project(order.getId());
+        flushAndClear();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = orderReadService.export(null, null, 7L, out);
+
+        JsonNode line = objectMapper.readTree(out.toString(StandardCharsets.UTF_8).strip());
+        assertThat(exported).isEqualTo(1);
+        assertThat(line.get("id").asLong()).isEqualTo(order.getId());
+        assertThat(line.get("items").get(0).get("bookId").asLong()).isEqualTo(10L);
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private Order saveOrder(Long userId, LocalDateTime createdAt) {
+        return orderRepository.save(new Order(null, userId, BigDecimal.TEN, OrderStatus.PENDING, createdAt, false));
+    }
+
+    private void saveItem(Order order, Long bookId) {
+        orderItemRepository.save(new OrderItem(null, order.getId(), bookId, 1, BigDecimal.TEN));
+    }
+}
@@ -0,0 +1,112 @@
+package com.bookstore.order.service;
+
+import com.bookstore.order.client.CatalogBookCache;
+import com.bookstore.order.data.mapper.OrderItemMapperImpl;
+import com.bookstore.order.data.mapper.OrderMapperImpl;
+import com.bookstore.order.dto.CatalogBookResponse;
+import com.bookstore.order.dto.OrderItemRequest;
+import com.bookstore.order.dto.OrderRequest;
+import com.bookstore.order.messaging.outbox.OrderOutbox;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureJson
+@ActiveProfiles("test")
+// Sequence values survive rollbacks; a fresh database keeps each test inside one pooled id block.
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@Import({ValidationAutoConfiguration.class, OrderService.class, OrderOutbox.class, OrderMapperImpl.class, OrderItemMapperImpl.class,
+        OrderMetrics.class, OrderArchive.class, SimpleMeterRegistry.class})
+class OrderServiceBatchInsertTest {
+    @Autowired private OrderService orderService;
+    @Autowired private EntityManager entityManager;
+
+    @MockitoBean private CatalogBookCache catalogBookCache;
+    @MockitoBean private RestTemplate restTemplate;
+    @MockitoBean private UserOrderPageCache userOrderPageCache;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer test-token");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        when(catalogBookCache.getBooksByIds(anyList(), anyString())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(id -> new CatalogBookResponse(id, "Book " + id, BigDecimal.TEN)).toList();
+        });
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        // The pooled optimizer reads each sequence twice before its first block of ids is usable;
+        // warm it up so the measured orders fetch no ids from the database.
+        createOrder(1);
+        createOrder(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void shouldWriteOrderItemsAndOutboxRowWithOneStatementEach() {
+        assertThat(statementsForOrderWith(3)).isEqualTo(3);
+        assertThat(statementsForOrderWith(20)).isEqualTo(3);
+    }
+
+    @Test
+    void shouldWriteWholeBatchOfOrdersWithOneStatementPerTable() {
+        List<OrderRequest> requests = LongStream.rangeClosed(1, 10)
+                .mapToObj(userId -> new OrderRequest(userId, LongStream.rangeClosed(1, 4)
+                        .mapToObj(bookId -> new OrderItemRequest(bookId, 1))
+                        .toList()))
+                .toList();
+
+        statistics.clear();
+        orderService.createBatch(requests);
+        entityManager.flush();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    private long statementsForOrderWith(int items) {
+        statistics.clear();
+        createOrder(items);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void createOrder(int items) {
+        orderService.create(new OrderRequest(7L, LongStream.rangeClosed(1, items)
+                .mapToObj(bookId -> new OrderItemRequest(bookId, 1))
+                .toList()));
+        entityManager.flush();
+    }
+}
@@ -1,9 +1,319 @@
 package com.bookstore.order.service;
 
+import com.bookstore.order.client.CatalogBookCache;
+import com.bookstore.order.data.entity.Order;
+import com.bookstore.order.data.entity.OrderItem;
+import com.bookstore.order.data.entity.OrderStatus;
+import com.bookstore.order.data.mapper.OrderItemMapper;
+import com.bookstore.order.data.mapper.OrderMapper;
+import com.bookstore.order.data.repository.OrderItemRepository;
+import com.bookstore.order.data.repository.OrderRepository;
+import com.bookstore.order.dto.BatchOrderResponse;
+import com.bookstore.order.dto.BatchOrderResult;
+import com.bookstore.order.dto.BulkCancelRequest;
+import com.bookstore.order.dto.BulkCancelResponse;
+import com.bookstore.order.dto.CatalogBookResponse;
+import com.bookstore.order.dto.OrderItemRequest;
+import com.bookstore.order.dto.OrderPageResponse;
+import com.bookstore.order.dto.OrderRequest;
+import com.bookstore.order.dto.OrderResponse;
+import com.bookstore.order.messaging.RabbitNames;
+import com.bookstore.order.messaging.event.OrderCancelledEvent;
+import com.bookstore.order.messaging.event.OrderCreatedEvent;
+import com.bookstore.order.messaging.outbox.OrderOutbox;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class OrderServiceTest {
-    // TODO
-}
\ No newline at end of file
+    private static final String TOKEN = "Bearer test-token";
+
+    @Mock private OrderRepository orderRepository;
+    @Mock private OrderItemRepository orderItemRepository;
+    @Mock private OrderMapper orderMapper;
+    @Mock private OrderItemMapper orderItemMapper;
+    @Mock private OrderOutbox orderOutbox;
+    @Mock private RestTemplate restTemplate;
+    @Mock private CatalogBookCache catalogBookCache;
+    @Mock private UserOrderPageCache userOrderPageCache;
+    @Mock private ApplicationEventPublisher applicationEventPublisher;
+    @Mock private OrderArchive orderArchive;
+    @Spy private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @Spy private OrderMetrics orderMetrics = new OrderMetrics(meterRegistry);
+
+    @InjectMocks
+    private OrderService orderService;
+
+    @BeforeEach
+    void setUp() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.AUTHORIZATION, TOKEN);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void shouldPriceWholeOrderWithSingleCatalogCall() {
+        OrderRequest request = new OrderRequest(7L, List.of(
+                new OrderItemRequest(1L, 2),
+                new OrderItemRequest(2L, 1),
+                new OrderItemRequest(1L, 3)
+        ));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(orderItemMapper.toEntity(any(OrderItemRequest.class))).thenAnswer(invocation -> {
+            OrderItemRequest itemRequest = invocation.getArgument(0);
+            return new OrderItem(null, null, itemRequest.bookId(), itemRequest.quantity(), null);
+        });
+        when(catalogBookCache.getBooksByIds(List.of(1L, 2L), TOKEN)).thenReturn(List.of(
+                new CatalogBookResponse(1L, "Clean Code", new BigDecimal("10.00")),
+                new CatalogBookResponse(2L, "Refactoring", new BigDecimal("25.50"))
+        ));
+
+        orderService.create(request);
+
+        ArgumentCaptor<Order> orderCaptor = ArgumentCaptor.forClass(Order.class);
+        verify(orderRepository).save(orderCaptor.capture());
+        assertThat(orderCaptor.getValue().getTotal()).isEqualByComparingTo("75.50");
+        verify(catalogBookCache).getBooksByIds(anyList(), any());
+        ArgumentCaptor<OrderCreatedEvent> eventCaptor = ArgumentCaptor.forClass(OrderCreatedEvent.class);
+        verify(orderOutbox).append(any(), eq(RabbitNames.ORDER_CREATED_ROUTING_KEY), eventCaptor.capture());
+        assertThat(eventCaptor.getValue().getItems())
+                .extracting(OrderCreatedEvent.Item::getBookId, OrderCreatedEvent.Item::getQuantity)
+                .containsExactly(tuple(1L, 2), tuple(2L, 1), tuple(1L, 3));
+        verify(userOrderPageCache).evictAfterCommit(7L);
+        verify(applicationEventPublisher).publishEvent(any(OrderChanged.class));
+        assertThat(meterRegistry.get("order.create.step").tag("step", "pricing").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("order.create.step").tag("step", "persist").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("order.outcomes").tags("source", "sync", "outcome", "created").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("order.items").summary().totalAmount()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldPriceBatchWithOneCatalogCallAndReportFailuresPerOrder() {
+        List<OrderRequest> requests = List.of(
+                new OrderRequest(7L, List.of(new OrderItemRequest(1L, 2), new OrderItemRequest(2L, 1))),
+                new OrderRequest(8L, List.of(new OrderItemRequest(99L, 1))),
+                new OrderRequest(9L, List.of()),
+                new OrderRequest(7L, List.of(new OrderItemRequest(2L, 4)))
+        );
+        when(orderItemMapper.toEntity(any(OrderItemRequest.class))).thenAnswer(invocation -> {
+            OrderItemRequest itemRequest = invocation.getArgument(0);
+            return new OrderItem(null, null, itemRequest.bookId(), itemRequest.quantity(), null);
+        });
+        when(catalogBookCache.getBooksByIds(List.of(1L, 2L, 99L), TOKEN)).thenReturn(List.of(
+                new CatalogBookResponse(1L, "Clean Code", new BigDecimal("10.00")),
+                new CatalogBookResponse(2L, "Refactoring", new BigDecimal("25.50"))
+        ));
+
+        BatchOrderResponse response = orderService.createBatch(requests);
+
+        assertThat(response.created()).isEqualTo(2);
+        assertThat(response.failed()).isEqualTo(2);
+        assertThat(response.results()).extracting(BatchOrderResult::index, BatchOrderResult::created)
+                .containsExactly(tuple(0, true), tuple(1, false), tuple(2, false), tuple(3, true));
+        assertThat(response.results().get(1).error()).isEqualTo("Book not found in catalog-service: 99");
+        assertThat(response.results().get(2).error()).startsWith("items:");
+
+        ArgumentCaptor<List<Order>> ordersCaptor = ArgumentCaptor.captor();
+        verify(orderRepository).saveAll(ordersCaptor.capture());
+        assertThat(ordersCaptor.getValue()).extracting(Order::getTotal)
+                .usingComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+                .containsExactly(new BigDecimal("45.50"), new BigDecimal("102.00"));
+        verify(catalogBookCache).getBooksByIds(anyList(), any());
+        verify(orderOutbox, times(2)).append(any(), eq(RabbitNames.ORDER_CREATED_ROUTING_KEY), any());
+    }
+
+    @Test
+    void shouldLoadItemsOfWholePageWithOneQuery() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 11, 1, 10, 0);
+        Order newest = new Order(3L, 7L, BigDecimal.TEN, OrderStatus.PENDING, createdAt, false);
+        Order middle = new Order(2L, 7L, BigDecimal.TEN, OrderStatus.PENDING, createdAt, false);
+        Order oldest = new Order(1L, 7L, BigDecimal.TEN, OrderStatus.PENDING, createdAt, false);
+        when(orderRepository.findNewest(Limit.of(3))).thenReturn(List.of(newest, middle, oldest));
+        when(orderItemRepository.findByOrderIdIn(List.of(3L, 2L))).thenReturn(List.of(
+                new OrderItem(30L, 3L, 1L, 1, BigDecimal.TEN),
+                new OrderItem(20L, 2L, 1L, 1, BigDecimal.TEN)
+        ));
+
+        OrderPageResponse page = orderService.getPage(null, 2);
+
+        assertThat(page.nextCursor()).isNotNull();
+        verify(orderItemRepository).findByOrderIdIn(List.of(3L, 2L));
+        verify(orderItemRepository, never()).findByOrderId(any());
+
+        orderService.getPage(page.nextCursor(), 2);
+        verify(orderRepository).findNewestBefore(createdAt, 2L, Limit.of(3));
+    }
+
+    @Test
+    void shouldServeFirstUserPageThroughCacheAndLaterPagesByKeyset() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 11, 1, 10, 0);
+        when(userOrderPageCache.get(eq(7L), eq(20), any())).thenAnswer(invocation ->
+                invocation.<Supplier<OrderPageResponse>>getArgument(2).get());
+        when(orderRepository.findNewestByUser(7L, Limit.of(21))).thenReturn(List.of());
+
+        orderService.getUserPage(7L, null, 20);
+        orderService.getUserPage(7L, new OrderCursor(createdAt, 5L).encode(), 20);
+
+        verify(userOrderPageCache).get(eq(7L), eq(20), any());
+        verify(orderRepository).findNewestByUserBefore(7L, createdAt, 5L, Limit.of(21));
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        assertThatThrownBy(() -> orderService.getPage("not a cursor", 10))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    @Test
+    void shouldFailWhenCatalogDoesNotKnowABook() {
+        OrderRequest request = new OrderRequest(7L, List.of(new OrderItemRequest(99L, 1)));
+        when(catalogBookCache.getBooksByIds(anyList(), any())).thenReturn(List.of());
+
+        assertThatThrownBy(() -> orderService.create(request))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND));
+    }
+
+    @Test
+    void shouldPriceAcceptedOrderAndConfirmIt() {
+        Order order = new Order(5L, 7L, BigDecimal.ZERO, OrderStatus.PENDING, LocalDateTime.now(), false);
+        when(orderRepository.findById(5L)).thenReturn(Optional.of(order));
+        when(orderItemRepository.findByOrderId(5L)).thenReturn(List.of(
+                new OrderItem(50L, 5L, 1L, 2, BigDecimal.ZERO),
+                new OrderItem(51L, 5L, 2L, 1, BigDecimal.ZERO)
+        ));
+        when(catalogBookCache.getBooksByIds(List.of(1L, 2L), TOKEN)).thenReturn(List.of(
+                new CatalogBookResponse(1L, "Clean Code", new BigDecimal("10.00")),
+                new CatalogBookResponse(2L, "Refactoring", new BigDecimal("25.50"))
+        ));
+        when(orderRepository.confirm(5L, new BigDecimal("45.50"))).thenReturn(1);
+
+        orderService.confirm(5L, TOKEN);
+
+        assertThat(order.getOrderStatus()).isEqualTo(OrderStatus.CONFIRMED);
+        assertThat(order.getTotal()).isEqualByComparingTo("45.50");
+        verify(orderOutbox).append(eq(5L), any(), any());
+    }
+
+    @Test
+    void shouldNotConfirmOrderCancelledWhileQueued() {
+        Order order = new Order(5L, 7L, BigDecimal.ZERO, OrderStatus.CANCELLED, LocalDateTime.now(), false);
+        when(orderRepository.findById(5L)).thenReturn(Optional.of(order));
+
+        orderService.confirm(5L, TOKEN);
+
+        verify(catalogBookCache, never()).getBooksByIds(anyList(), any());
+        verify(orderOutbox, never()).append(any(), any(), any());
+    }
+
+    @Test
+    void shouldNotPublishConfirmationWhenOrderWasCancelledDuringPricing() {
+        Order order = new Order(5L, 7L, BigDecimal.ZERO, OrderStatus.PENDING, LocalDateTime.now(), false);
+        when(orderRepository.findById(5L)).thenReturn(Optional.of(order));
+        when(orderItemRepository.findByOrderId(5L)).thenReturn(List.of(new OrderItem(50L, 5L, 1L, 1, BigDecimal.ZERO)));
+        when(catalogBookCache.getBooksByIds(List.of(1L), TOKEN))
+                .thenReturn(List.of(new CatalogBookResponse(1L, "Clean Code", BigDecimal.TEN)));
+        when(orderRepository.confirm(eq(5L), any())).thenReturn(0);
+
+        orderService.confirm(5L, TOKEN);
+
+        verify(orderOutbox, never()).append(any(), any(), any());
+    }
+
+    @Test
+    void shouldFallBackToArchiveForOrdersNoLongerInHotTables() {
+        OrderResponse archived = new OrderResponse(5L, 7L, BigDecimal.TEN, OrderStatus.COMPLETED,
+                LocalDateTime.of(2023, 1, 15, 9, 0), List.of());
+        when(orderRepository.findById(5L)).thenReturn(Optional.empty());
+        when(orderArchive.find(5L)).thenReturn(Optional.of(archived));
+
+        assertThat(orderService.getById(5L)).isEqualTo(archived);
+        assertThatThrownBy(() -> orderService.getById(6L)).isInstanceOf(EntityNotFoundException.class);
+        verify(orderItemRepository, never()).findByOrderId(any());
+    }
+
+    @Test
+    void shouldCancelWithGuardedUpdateAndEmitEvent() {
+        when(orderRepository.transition(5L, OrderService.CANCELLABLE, OrderStatus.CANCELLED)).thenReturn(1);
+
+        orderService.cancel(5L);
+
+        verify(orderRepository, never()).findById(any());
+        verify(orderOutbox).append(eq(5L), eq(RabbitNames.ORDER_CANCELLED_ROUTING_KEY), any(OrderCancelledEvent.class));
+        verify(applicationEventPublisher).publishEvent(new OrderChanged(5L));
+    }
+
+    @Test
+    void shouldTellMissingOrderFromOneThatCanNoLongerBeCancelled() {
+        when(orderRepository.transition(any(), any(), eq(OrderStatus.CANCELLED))).thenReturn(0);
+        when(orderRepository.existsById(5L)).thenReturn(true);
+
+        assertThatThrownBy(() -> orderService.cancel(5L))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+        assertThatThrownBy(() -> orderService.cancel(6L)).isInstanceOf(EntityNotFoundException.class);
+        verify(orderOutbox, never()).append(any(), any(), any());
+    }
+
+    @Test
+    void shouldCancelAllOpenOrdersOfUserWithOneUpdate() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 11, 1, 10, 0);
+        when(orderRepository.lockByUserAndStatus(7L, OrderService.CANCELLABLE)).thenReturn(List.of(
+                new Order(1L, 7L, BigDecimal.TEN, OrderStatus.PENDING, createdAt, false),
+                new Order(2L, 7L, BigDecimal.TEN, OrderStatus.CONFIRMED, createdAt, false)
+        ));
+
+        BulkCancelResponse response = orderService.cancelAll(new BulkCancelRequest(7L, null));
+
+        assertThat(response.orderIds()).containsExactly(1L, 2L);
+        verify(orderRepository).transitionAll(List.of(1L, 2L), OrderService.CANCELLABLE, OrderStatus.CANCELLED);
+        verify(orderOutbox).append(eq(1L), eq(RabbitNames.ORDER_CANCELLED_ROUTING_KEY), any(OrderCancelledEvent.class));
+        verify(orderOutbox).append(eq(2L), eq(RabbitNames.ORDER_CANCELLED_ROUTING_KEY), any(OrderCancelledEvent.class));
+        verify(userOrderPageCache, times(2)).evictAfterCommit(7L);
+    }
+}
@@ -0,0 +1,103 @@
+package com.bookstore.order.service;
+
+import com.bookstore.order.dto.OrderPageResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserOrderPageCacheTest {
+    private UserOrderPageCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserOrderPageCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+        loads = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldLoadFirstPageOncePerUser() {
+        load(7L, 20);
+        load(7L, 20);
+        load(8L, 20);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void shouldLoadOtherPageSizesWithoutReplacingCachedPage() {
+        load(7L, 20);
+        load(7L, 5);
+        load(7L, 5);
+        load(7L, 20);
+
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void shouldShareOneLoadBetweenConcurrentMisses() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread first = Thread.ofPlatform().start(() -> cache.get(7L, 20, () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            awaitQuietly(release);
+            return new OrderPageResponse(List.of(), null);
+        }));
+        loading.await(5, TimeUnit.SECONDS);
+        Thread second = Thread.ofPlatform().start(() -> load(7L, 20));
+
+        release.countDown();
+        first.join(5000);
+        second.join(5000);
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void shouldEvictOnlyAfterCommit() {
+        load(7L, 20);
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.evictAfterCommit(7L);
+        load(7L, 20);
+        assertThat(loads).hasValue(1);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        load(7L, 20);
+        assertThat(loads).hasValue(2);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void load(Long userId, int size) {
+        cache.get(userId, size, () -> {
+            loads.incrementAndGet();
+            return new OrderPageResponse(List.of(), null);
+        });
+    }
+}